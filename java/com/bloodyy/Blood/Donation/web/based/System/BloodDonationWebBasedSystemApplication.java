@@ -2,8 +2,10 @@ package com.bloodyy.Blood.Donation.web.based.System;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BloodDonationWebBasedSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package com.bloodyy.Blood.Donation.web.based.System.config;
+
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonationRollupObserver;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonorDonationStatsObserver;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonorEligibilityMaterializer;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonorEligibilityObserver;
+import com.bloodyy.Blood.Donation.web.based.System.service.DonationService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DonationObserverConfig {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonorEligibilityObserver donorEligibilityObserver;
+
+    @Autowired
+    private DonorEligibilityMaterializer donorEligibilityMaterializer;
+
+    @Autowired
+    private DonationRollupObserver donationRollupObserver;
+
+    @Autowired
+    private DonorDonationStatsObserver donorDonationStatsObserver;
+
+    @PostConstruct
+    public void registerObservers() {
+        System.out.println("=== REGISTERING DONATION OBSERVERS ===");
+
+        donationService.registerObserver(donorEligibilityMaterializer);
+        donationService.registerObserver(donationRollupObserver);
+        donationService.registerObserver(donorDonationStatsObserver);
+        donationService.registerObserver(donorEligibilityObserver);
+
+        System.out.println("Registered donation observers: " + donationService.getRegisteredObservers());
+        System.out.println("=== DONATION OBSERVERS REGISTERED SUCCESSFULLY ===");
+    }
+}
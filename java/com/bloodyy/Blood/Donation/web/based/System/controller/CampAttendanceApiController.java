@@ -0,0 +1,145 @@
+package com.bloodyy.Blood.Donation.web.based.System.controller;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.service.AttendanceJournal;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampAttendanceService;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampRosterNameIndex;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON endpoints for the attendance desk (barcode scanner queue, name type-ahead, journal rejections)
+ */
+@Controller
+public class CampAttendanceApiController {
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int MAX_TYPE_AHEAD_RESULTS = 50;
+
+    @Autowired
+    private CampAttendanceService campAttendanceService;
+
+    /**
+     * Check in a burst of scanned donors. Body is a JSON array of donor ids.
+     */
+    @PostMapping("/volunteer/camps/{campId}/attendance/bulk")
+    @ResponseBody
+    public Map<String, Object> recordAttendanceBatch(@PathVariable Long campId,
+                                                     @RequestBody List<Long> donorIds,
+                                                     HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        User user = (User) session.getAttribute("user");
+        if (user == null || !"VOLUNTEER".equals(user.getUser_type())) {
+            response.put("error", "Please log in as a volunteer");
+            return response;
+        }
+
+        if (donorIds == null || donorIds.isEmpty()) {
+            response.put("error", "No donors to check in");
+            return response;
+        }
+        if (donorIds.size() > MAX_BATCH_SIZE) {
+            response.put("error", "At most " + MAX_BATCH_SIZE + " donors can be checked in at once");
+            return response;
+        }
+
+        try {
+            List<CampAttendanceService.AttendanceOutcome> outcomes =
+                    campAttendanceService.recordAttendance(campId, donorIds, user);
+
+            int recorded = 0;
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (CampAttendanceService.AttendanceOutcome outcome : outcomes) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("donorId", outcome.getDonorId());
+                result.put("recorded", outcome.isRecorded());
+                result.put("message", outcome.getMessage());
+                results.add(result);
+                if (outcome.isRecorded()) recorded++;
+            }
+
+            response.put("campId", campId);
+            response.put("recorded", recorded);
+            response.put("rejected", outcomes.size() - recorded);
+            response.put("results", results);
+        } catch (Exception e) {
+            response.put("error", e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Name type-ahead over a camp's roster (name prefixes first, then matches inside a name)
+     */
+    @GetMapping("/volunteer/camps/{campId}/roster/search")
+    @ResponseBody
+    public Map<String, Object> searchRoster(@PathVariable Long campId,
+                                            @RequestParam("q") String query,
+                                            @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                            HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        User user = (User) session.getAttribute("user");
+        if (user == null || !"VOLUNTEER".equals(user.getUser_type())) {
+            response.put("error", "Please log in as a volunteer");
+            return response;
+        }
+
+        try {
+            List<Map<String, Object>> matches = new ArrayList<>();
+            for (CampRosterNameIndex.RosterEntry entry : campAttendanceService.typeAhead(campId, query,
+                    Math.min(Math.max(limit, 1), MAX_TYPE_AHEAD_RESULTS), user)) {
+                Map<String, Object> match = new HashMap<>();
+                match.put("donorId", entry.getDonorId());
+                match.put("name", entry.getFullName());
+                match.put("verified", entry.isVerified());
+                match.put("registered", entry.isRegistered());
+                match.put("attended", entry.isAttended());
+                match.put("bloodDonated", entry.isBloodDonated());
+                matches.add(match);
+            }
+            response.put("campId", campId);
+            response.put("matches", matches);
+        } catch (Exception e) {
+            response.put("error", e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Journaled check-ins and donation marks for a camp that could not be applied
+     */
+    @GetMapping("/volunteer/camps/{campId}/attendance/rejected")
+    @ResponseBody
+    public Map<String, Object> getRejectedJournalEntries(@PathVariable Long campId, HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        User user = (User) session.getAttribute("user");
+        if (user == null || !"VOLUNTEER".equals(user.getUser_type())) {
+            response.put("error", "Please log in as a volunteer");
+            return response;
+        }
+
+        try {
+            List<Map<String, Object>> entries = new ArrayList<>();
+            for (AttendanceJournal.RejectedEntry rejected : campAttendanceService.getRejectedJournalEntries(campId, user)) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("donorId", rejected.getEntry().getDonorId());
+                entry.put("type", rejected.getEntry().getType() == AttendanceJournal.CHECK_IN ? "CHECK_IN" : "BLOOD_DONATION");
+                entry.put("occurredAt", rejected.getEntry().getOccurredAt());
+                entry.put("reason", rejected.getReason());
+                entry.put("rejectedAt", rejected.getRejectedAt());
+                entries.add(entry);
+            }
+            response.put("campId", campId);
+            response.put("rejected", entries);
+        } catch (Exception e) {
+            response.put("error", e.getMessage());
+        }
+        return response;
+    }
+}
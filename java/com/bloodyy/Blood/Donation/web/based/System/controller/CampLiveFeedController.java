@@ -0,0 +1,54 @@
+package com.bloodyy.Blood.Donation.web.based.System.controller;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampLiveFeed;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events streams of live camp counters for the volunteer pages
+ */
+@Controller
+public class CampLiveFeedController {
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    @GetMapping(value = "/volunteer/camps/{campId}/live", produces = "text/event-stream")
+    @ResponseBody
+    public SseEmitter campFeed(@PathVariable Long campId, HttpSession session) {
+        if (!isVolunteer(session)) {
+            return denied();
+        }
+        return campLiveFeed.subscribe(campId);
+    }
+
+    @GetMapping(value = "/volunteer/live", produces = "text/event-stream")
+    @ResponseBody
+    public SseEmitter globalFeed(HttpSession session) {
+        if (!isVolunteer(session)) {
+            return denied();
+        }
+        return campLiveFeed.subscribeGlobal();
+    }
+
+    private boolean isVolunteer(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        return user != null && "VOLUNTEER".equals(user.getUser_type());
+    }
+
+    // One "denied" event, then close; the page script stops reconnecting when it sees it
+    private SseEmitter denied() {
+        SseEmitter emitter = new SseEmitter();
+        try {
+            emitter.send(SseEmitter.event().name("denied").data("Please log in as a volunteer"));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+}
@@ -1,15 +1,23 @@
 // File: CampRegistrationController.java
 package com.bloodyy.Blood.Donation.web.based.System.controller;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampPage;
+import com.bloodyy.Blood.Donation.web.based.System.dto.RegistrationTicket;
+import com.bloodyy.Blood.Donation.web.based.System.entity.CampRegistration;
 import com.bloodyy.Blood.Donation.web.based.System.entity.User;
 import com.bloodyy.Blood.Donation.web.based.System.service.CampRegistrationService;
 import com.bloodyy.Blood.Donation.web.based.System.service.BloodDonationCampService;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampRegistrationPipeline;
+import com.bloodyy.Blood.Donation.web.based.System.service.DonationEligibilityService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class CampRegistrationController {
@@ -20,15 +28,30 @@ public class CampRegistrationController {
     @Autowired
     private BloodDonationCampService campService;
 
+    @Autowired
+    private CampRegistrationPipeline registrationPipeline;
+
+    @Autowired
+    private DonationEligibilityService donationEligibilityService;
+
     @GetMapping("/donor/camps")
-    public String viewAvailableCamps(Model model, HttpSession session) {
+    public String viewAvailableCamps(@RequestParam(value = "after", required = false) String after,
+                                     @RequestParam(value = "before", required = false) String before,
+                                     @RequestParam(value = "size", defaultValue = "20") int size,
+                                     Model model, HttpSession session) {
         User user = (User) session.getAttribute("user");
         if (user == null || !"DONOR".equals(user.getUser_type())) {
             return "redirect:/login";
         }
 
+        int pageSize = campService.clampPageSize(size);
+        CampPage campPage = campService.getAvailableCampPageForDonor(user, after, before, pageSize);
+
         model.addAttribute("user", user);
-        model.addAttribute("availableCamps", campService.getAvailableCampsForDonor(user));
+        model.addAttribute("availableCamps", campPage.getCamps());
+        model.addAttribute("nextCursor", campPage.getNextCursor());
+        model.addAttribute("prevCursor", campPage.getPrevCursor());
+        model.addAttribute("pageSize", pageSize);
         model.addAttribute("myRegistrations", campRegistrationService.getDonorRegistrations(user.getId()));
 
         return "donor-available-camps";
@@ -53,6 +76,42 @@ public class CampRegistrationController {
         return "redirect:/donor/camps";
     }
 
+    @PostMapping("/donor/camps/register-async/{campId}")
+    @ResponseBody
+    public Map<String, Object> registerForCampAsync(@PathVariable Long campId, HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null || !"DONOR".equals(user.getUser_type())) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Please log in as a donor");
+            return response;
+        }
+
+        return ticketResponse(registrationPipeline.submit(campId, user));
+    }
+
+    @GetMapping("/donor/camps/registration-ticket/{ticketId}")
+    @ResponseBody
+    public Map<String, Object> getRegistrationTicket(@PathVariable String ticketId, HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        RegistrationTicket ticket = registrationPipeline.getTicket(ticketId);
+        if (user == null || ticket == null || !ticket.getDonorId().equals(user.getId())) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Ticket not found");
+            return response;
+        }
+
+        return ticketResponse(ticket);
+    }
+
+    private Map<String, Object> ticketResponse(RegistrationTicket ticket) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("ticketId", ticket.getTicketId());
+        response.put("campId", ticket.getCampId());
+        response.put("status", ticket.getStatus());
+        response.put("message", ticket.getMessage());
+        return response;
+    }
+
     @PostMapping("/donor/camps/cancel/{campId}")
     public String cancelRegistration(@PathVariable Long campId,
                                      HttpSession session,
@@ -89,7 +148,12 @@ public class CampRegistrationController {
 
             model.addAttribute("user", user);
             model.addAttribute("camp", campService.getCampById(campId));
-            model.addAttribute("registrations", campRegistrationService.getCampRegistrations(campId));
+            List<CampRegistration> registrations = campRegistrationService.getCampRegistrations(campId);
+            model.addAttribute("registrations", registrations);
+
+            // Eligibility for the whole roster in one query
+            model.addAttribute("donorEligibility", donationEligibilityService.checkDonationEligibility(
+                    registrations.stream().map(registration -> registration.getDonor().getId()).toList()));
 
         } catch (Exception e) {
             model.addAttribute("error", "Error: " + e.getMessage());
@@ -97,4 +161,26 @@ public class CampRegistrationController {
 
         return "volunteer-camp-registrations";
     }
+
+    @PostMapping("/volunteer/camps/registrations/{campId}/flash-registration")
+    public String setFlashRegistration(@PathVariable Long campId,
+                                       @RequestParam("enabled") boolean enabled,
+                                       HttpSession session,
+                                       RedirectAttributes redirectAttributes) {
+        User user = (User) session.getAttribute("user");
+        if (user == null || !"VOLUNTEER".equals(user.getUser_type()) || !user.getIsVolunteerVerified()) {
+            return "redirect:/login";
+        }
+
+        try {
+            campService.setFlashRegistration(campId, enabled, user);
+            redirectAttributes.addFlashAttribute("success", enabled
+                    ? "Flash registration turned on for this camp"
+                    : "Flash registration turned off for this camp");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Update failed: " + e.getMessage());
+        }
+
+        return "redirect:/volunteer/camps/registrations/" + campId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+/**
+ * Attendance and blood donation totals, filled by a single aggregate query
+ */
+public class AttendanceTotals {
+    private final long totalAttendees;
+    private final long totalBloodDonations;
+
+    public AttendanceTotals(Long totalAttendees, Long totalBloodDonations) {
+        this.totalAttendees = totalAttendees != null ? totalAttendees : 0;
+        this.totalBloodDonations = totalBloodDonations != null ? totalBloodDonations : 0;
+    }
+
+    // Getters
+    public long getTotalAttendees() { return totalAttendees; }
+    public long getTotalBloodDonations() { return totalBloodDonations; }
+}
@@ -0,0 +1,28 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+/**
+ * Per-camp registration and attendance counters, filled by a single aggregate query
+ */
+public class CampActivityCounts {
+    private final Long campId;
+    private final long registeredCount;
+    private final long attendedCount;
+    private final long donatedCount;
+
+    public CampActivityCounts(Long campId, Long registeredCount, Long attendedCount, Long donatedCount) {
+        this.campId = campId;
+        this.registeredCount = registeredCount != null ? registeredCount : 0;
+        this.attendedCount = attendedCount != null ? attendedCount : 0;
+        this.donatedCount = donatedCount != null ? donatedCount : 0;
+    }
+
+    public static CampActivityCounts empty(Long campId) {
+        return new CampActivityCounts(campId, 0L, 0L, 0L);
+    }
+
+    // Getters
+    public Long getCampId() { return campId; }
+    public long getRegisteredCount() { return registeredCount; }
+    public long getAttendedCount() { return attendedCount; }
+    public long getDonatedCount() { return donatedCount; }
+}
@@ -0,0 +1,65 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Keyset position in a camp listing ordered by (campDate, startTime, id).
+ * Encoded as "date_time_id" so it can travel in a query string.
+ */
+public class CampCursor {
+    private final LocalDate campDate;
+    private final LocalTime startTime;
+    private final Long id;
+
+    public CampCursor(LocalDate campDate, LocalTime startTime, Long id) {
+        this.campDate = campDate;
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * Position just before the first camp on the given date (ascending listings)
+     */
+    public static CampCursor startOf(LocalDate date) {
+        return new CampCursor(date, LocalTime.MIN, 0L);
+    }
+
+    /**
+     * Position after every camp (descending listings)
+     */
+    public static CampCursor end() {
+        return new CampCursor(LocalDate.of(9999, 12, 31), LocalTime.MAX, Long.MAX_VALUE);
+    }
+
+    public static CampCursor of(CampSummary camp) {
+        return new CampCursor(camp.getCampDate(), camp.getStartTime(), camp.getId());
+    }
+
+    /**
+     * Parse an encoded cursor, returning null when it is missing or malformed
+     */
+    public static CampCursor parse(String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = encoded.split("_");
+            if (parts.length != 3) {
+                return null;
+            }
+            return new CampCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public String encode() {
+        return campDate + "_" + startTime + "_" + id;
+    }
+
+    // Getters
+    public LocalDate getCampDate() { return campDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public Long getId() { return id; }
+}
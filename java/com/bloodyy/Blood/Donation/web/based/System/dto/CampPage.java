@@ -0,0 +1,25 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated camp listing
+ */
+public class CampPage {
+    private final List<CampSummary> camps;
+    private final String nextCursor;
+    private final String prevCursor;
+
+    public CampPage(List<CampSummary> camps, String nextCursor, String prevCursor) {
+        this.camps = camps;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    // Getters
+    public List<CampSummary> getCamps() { return camps; }
+    public String getNextCursor() { return nextCursor; }
+    public String getPrevCursor() { return prevCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+    public boolean isHasPrevious() { return prevCursor != null; }
+}
@@ -0,0 +1,27 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+/**
+ * Camp counts by schedule plus capacity and registration sums, filled by a single aggregate query
+ */
+public class CampScheduleTotals {
+    private final long totalCamps;
+    private final long todaysCamps;
+    private final long upcomingCamps;
+    private final long totalCapacity;
+    private final long totalRegistered;
+
+    public CampScheduleTotals(Long totalCamps, Long todaysCamps, Long upcomingCamps, Long totalCapacity, Long totalRegistered) {
+        this.totalCamps = totalCamps != null ? totalCamps : 0;
+        this.todaysCamps = todaysCamps != null ? todaysCamps : 0;
+        this.upcomingCamps = upcomingCamps != null ? upcomingCamps : 0;
+        this.totalCapacity = totalCapacity != null ? totalCapacity : 0;
+        this.totalRegistered = totalRegistered != null ? totalRegistered : 0;
+    }
+
+    // Getters
+    public long getTotalCamps() { return totalCamps; }
+    public long getTodaysCamps() { return todaysCamps; }
+    public long getUpcomingCamps() { return upcomingCamps; }
+    public long getTotalCapacity() { return totalCapacity; }
+    public long getTotalRegistered() { return totalRegistered; }
+}
@@ -0,0 +1,78 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only camp listing row. Filled by a constructor query joined with the organizer,
+ * so listings never hydrate BloodDonationCamp/User entities. Getter names mirror the
+ * entity so the listing templates can use either.
+ */
+public class CampSummary {
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 300;
+
+    private final Long id;
+    private final String campName;
+    private final String description;
+    private final String location;
+    private final LocalDate campDate;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Integer maxDonors;
+    private final Integer currentDonors;
+    private final Organizer organizedBy;
+
+    public CampSummary(Long id, String campName, String description, String location,
+                       LocalDate campDate, LocalTime startTime, LocalTime endTime,
+                       Integer maxDonors, Integer currentDonors,
+                       Long organizerId, String organizerFirstName, String organizerLastName,
+                       Boolean organizerVerified) {
+        this.id = id;
+        this.campName = campName;
+        this.description = description;
+        this.location = location;
+        this.campDate = campDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.maxDonors = maxDonors;
+        this.currentDonors = currentDonors != null ? currentDonors : 0;
+        this.organizedBy = new Organizer(organizerId, organizerFirstName, organizerLastName, organizerVerified);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getCampName() { return campName; }
+    public String getDescription() { return description; }
+    public String getLocation() { return location; }
+    public LocalDate getCampDate() { return campDate; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public Integer getMaxDonors() { return maxDonors; }
+    public Integer getCurrentDonors() { return currentDonors; }
+    public Organizer getOrganizedBy() { return organizedBy; }
+
+    public int getAvailableSlots() {
+        return maxDonors != null ? Math.max(0, maxDonors - currentDonors) : 0;
+    }
+
+    public static class Organizer {
+        private final Long id;
+        private final String firstName;
+        private final String lastName;
+        private final Boolean isVolunteerVerified;
+
+        public Organizer(Long id, String firstName, String lastName, Boolean isVolunteerVerified) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.isVolunteerVerified = isVolunteerVerified;
+        }
+
+        // Getters
+        public Long getId() { return id; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public Boolean getIsVolunteerVerified() { return isVolunteerVerified; }
+        public String getFullName() { return firstName + " " + lastName; }
+    }
+}
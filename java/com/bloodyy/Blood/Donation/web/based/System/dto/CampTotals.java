@@ -0,0 +1,18 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+/**
+ * Camp count and registered donor total, filled by a single aggregate query
+ */
+public class CampTotals {
+    private final long totalCamps;
+    private final long totalRegisteredDonors;
+
+    public CampTotals(Long totalCamps, Long totalRegisteredDonors) {
+        this.totalCamps = totalCamps != null ? totalCamps : 0;
+        this.totalRegisteredDonors = totalRegisteredDonors != null ? totalRegisteredDonors : 0;
+    }
+
+    // Getters
+    public long getTotalCamps() { return totalCamps; }
+    public long getTotalRegisteredDonors() { return totalRegisteredDonors; }
+}
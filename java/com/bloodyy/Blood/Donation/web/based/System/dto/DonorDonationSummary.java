@@ -0,0 +1,28 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Per-donor donation aggregates (counts and latest dates) from a single query
+ */
+public class DonorDonationSummary {
+    private final long totalDonations;
+    private final long campDonations;
+    private final LocalDate lastDonationDate;
+    private final LocalDate lastCampDonationDate;
+
+    public DonorDonationSummary(Long totalDonations, Long campDonations,
+                                LocalDate lastDonationDate, LocalDate lastCampDonationDate) {
+        this.totalDonations = totalDonations != null ? totalDonations : 0L;
+        this.campDonations = campDonations != null ? campDonations : 0L;
+        this.lastDonationDate = lastDonationDate;
+        this.lastCampDonationDate = lastCampDonationDate;
+    }
+
+    // Getters
+    public long getTotalDonations() { return totalDonations; }
+    public long getCampDonations() { return campDonations; }
+    public long getRegularDonations() { return totalDonations - campDonations; }
+    public LocalDate getLastDonationDate() { return lastDonationDate; }
+    public LocalDate getLastCampDonationDate() { return lastCampDonationDate; }
+}
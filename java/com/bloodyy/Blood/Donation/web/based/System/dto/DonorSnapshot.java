@@ -0,0 +1,34 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Everything the eligibility rules look at for one donor, loaded in a single grouped
+ * query (user columns plus latest donation dates) so rule evaluation never hits the database.
+ */
+public class DonorSnapshot {
+    private final Long userId;
+    private final String userType;
+    private final Boolean isVerified;
+    private final LocalDate dateOfBirth;
+    private final LocalDate lastDonationDate;
+    private final LocalDate lastCampDonationDate;
+
+    public DonorSnapshot(Long userId, String userType, Boolean isVerified, LocalDate dateOfBirth,
+                         LocalDate lastDonationDate, LocalDate lastCampDonationDate) {
+        this.userId = userId;
+        this.userType = userType;
+        this.isVerified = isVerified;
+        this.dateOfBirth = dateOfBirth;
+        this.lastDonationDate = lastDonationDate;
+        this.lastCampDonationDate = lastCampDonationDate;
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getUserType() { return userType; }
+    public Boolean getIsVerified() { return isVerified; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public LocalDate getLastDonationDate() { return lastDonationDate; }
+    public LocalDate getLastCampDonationDate() { return lastCampDonationDate; }
+}
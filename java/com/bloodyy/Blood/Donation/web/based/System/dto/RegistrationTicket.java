@@ -0,0 +1,41 @@
+package com.bloodyy.Blood.Donation.web.based.System.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Handle for a registration submitted to the asynchronous pipeline.
+ * Status moves from QUEUED to REGISTERED or REJECTED; the donor page polls it.
+ */
+public class RegistrationTicket {
+    public static final String QUEUED = "QUEUED";
+    public static final String REGISTERED = "REGISTERED";
+    public static final String REJECTED = "REJECTED";
+
+    private final String ticketId;
+    private final Long campId;
+    private final Long donorId;
+    private final LocalDateTime createdAt;
+    private volatile String status = QUEUED;
+    private volatile String message = "Registration is being processed";
+
+    public RegistrationTicket(String ticketId, Long campId, Long donorId, LocalDateTime createdAt) {
+        this.ticketId = ticketId;
+        this.campId = campId;
+        this.donorId = donorId;
+        this.createdAt = createdAt;
+    }
+
+    public void complete(String status, String message) {
+        this.message = message;
+        this.status = status;
+    }
+
+    // Getters
+    public String getTicketId() { return ticketId; }
+    public Long getCampId() { return campId; }
+    public Long getDonorId() { return donorId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public String getStatus() { return status; }
+    public String getMessage() { return message; }
+    public boolean isDone() { return !QUEUED.equals(status); }
+}
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "blood_donation_camps")
+@Table(name = "blood_donation_camps", indexes = {
+        @Index(name = "idx_camp_active_schedule", columnList = "is_active, camp_date, start_time, id"),
+        @Index(name = "idx_camp_organizer_schedule", columnList = "organized_by, is_active, camp_date, start_time, id")
+})
 public class BloodDonationCamp {
 
     @Id
@@ -44,6 +47,10 @@ public class BloodDonationCamp {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Admit registrations through the in-memory seat ledger (high-demand drives)
+    @Column
+    private Boolean flashRegistration = false;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -84,6 +91,9 @@ public class BloodDonationCamp {
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
 
+    public Boolean getFlashRegistration() { return flashRegistration; }
+    public void setFlashRegistration(Boolean flashRegistration) { this.flashRegistration = flashRegistration; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "camp_attendance")
+@Table(name = "camp_attendance", indexes = {
+        @Index(name = "idx_attendance_camp_donated", columnList = "camp_id, blood_donated")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_camp_donor", columnNames = {"camp_id", "donor_id"})
+})
 public class CampAttendance {
 
     @Id
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "camp_registrations")
+@Table(name = "camp_registrations", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_registration_camp_donor", columnNames = {"camp_id", "donor_id"})
+})
 public class CampRegistration {
 
     @Id
@@ -0,0 +1,52 @@
+package com.bloodyy.Blood.Donation.web.based.System.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "donations", indexes = {
+        @Index(name = "idx_donation_user_date", columnList = "user_id, donation_date"),
+        @Index(name = "idx_donation_user_type_date", columnList = "user_id, is_camp_donation, donation_date")
+})
+public class Donation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDate donationDate;
+
+    @ManyToOne
+    @JoinColumn(name = "camp_id")
+    private BloodDonationCamp camp;
+
+    @Column(name = "is_camp_donation", nullable = false)
+    private Boolean isCampDonation;
+
+    @Column(name = "recorded_by_volunteer_id")
+    private Long recordedByVolunteerId;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public LocalDate getDonationDate() { return donationDate; }
+    public void setDonationDate(LocalDate donationDate) { this.donationDate = donationDate; }
+
+    public BloodDonationCamp getCamp() { return camp; }
+    public void setCamp(BloodDonationCamp camp) { this.camp = camp; }
+
+    public Boolean getIsCampDonation() { return isCampDonation; }
+    public void setIsCampDonation(Boolean isCampDonation) { this.isCampDonation = isCampDonation; }
+
+    public Long getRecordedByVolunteerId() { return recordedByVolunteerId; }
+    public void setRecordedByVolunteerId(Long recordedByVolunteerId) { this.recordedByVolunteerId = recordedByVolunteerId; }
+}
@@ -0,0 +1,56 @@
+package com.bloodyy.Blood.Donation.web.based.System.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Pre-aggregated donation counts per (month, camp, type, recording volunteer).
+ * campId and volunteerId are 0 for regular donations / donations without a volunteer,
+ * so the unique key stays usable for ON DUPLICATE KEY UPDATE.
+ * Maintained by DonationRollupObserver; rebuilt by DonationService.rebuildDonationRollup().
+ */
+@Entity
+@Table(name = "donation_monthly_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_donation_rollup_cell",
+                columnNames = {"donation_month", "camp_id", "is_camp_donation", "volunteer_id"})
+})
+public class DonationMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // yyyymm, e.g. 202501
+    @Column(name = "donation_month", nullable = false)
+    private Integer donationMonth;
+
+    @Column(name = "camp_id", nullable = false)
+    private Long campId;
+
+    @Column(name = "is_camp_donation", nullable = false)
+    private Boolean isCampDonation;
+
+    @Column(name = "volunteer_id", nullable = false)
+    private Long volunteerId;
+
+    @Column(nullable = false)
+    private Long donationCount;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getDonationMonth() { return donationMonth; }
+    public void setDonationMonth(Integer donationMonth) { this.donationMonth = donationMonth; }
+
+    public Long getCampId() { return campId; }
+    public void setCampId(Long campId) { this.campId = campId; }
+
+    public Boolean getIsCampDonation() { return isCampDonation; }
+    public void setIsCampDonation(Boolean isCampDonation) { this.isCampDonation = isCampDonation; }
+
+    public Long getVolunteerId() { return volunteerId; }
+    public void setVolunteerId(Long volunteerId) { this.volunteerId = volunteerId; }
+
+    public Long getDonationCount() { return donationCount; }
+    public void setDonationCount(Long donationCount) { this.donationCount = donationCount; }
+}
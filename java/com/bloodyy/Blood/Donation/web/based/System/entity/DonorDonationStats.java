@@ -0,0 +1,53 @@
+package com.bloodyy.Blood.Donation.web.based.System.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running per-donor donation statistics so donation frequency is read in O(1).
+ * sumIntervalDays is the sum of gaps between consecutive donations.
+ * Maintained by DonorDonationStatsObserver; rebuilt by DonationService.rebuildDonorDonationStats().
+ */
+@Entity
+@Table(name = "donor_donation_stats")
+public class DonorDonationStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long donationCount;
+
+    @Column(nullable = false)
+    private LocalDate firstDonationDate;
+
+    @Column(nullable = false)
+    private LocalDate lastDonationDate;
+
+    @Column(nullable = false)
+    private Long sumIntervalDays;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getDonationCount() { return donationCount; }
+    public void setDonationCount(Long donationCount) { this.donationCount = donationCount; }
+
+    public LocalDate getFirstDonationDate() { return firstDonationDate; }
+    public void setFirstDonationDate(LocalDate firstDonationDate) { this.firstDonationDate = firstDonationDate; }
+
+    public LocalDate getLastDonationDate() { return lastDonationDate; }
+    public void setLastDonationDate(LocalDate lastDonationDate) { this.lastDonationDate = lastDonationDate; }
+
+    public Long getSumIntervalDays() { return sumIntervalDays; }
+    public void setSumIntervalDays(Long sumIntervalDays) { this.sumIntervalDays = sumIntervalDays; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
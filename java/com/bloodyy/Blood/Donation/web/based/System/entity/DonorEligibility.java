@@ -0,0 +1,43 @@
+package com.bloodyy.Blood.Donation.web.based.System.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized camp-donation eligibility per donor. Only donors with at least one
+ * camp donation have a row; everyone else is eligible. Maintained by
+ * DonorEligibilityMaterializer whenever DonationService changes a donation.
+ */
+@Entity
+@Table(name = "donor_eligibility", indexes = {
+        @Index(name = "idx_donor_eligibility_next_date", columnList = "next_eligible_date")
+})
+public class DonorEligibility {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate lastCampDonationDate;
+
+    @Column(nullable = false)
+    private LocalDate nextEligibleDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDate getLastCampDonationDate() { return lastCampDonationDate; }
+    public void setLastCampDonationDate(LocalDate lastCampDonationDate) { this.lastCampDonationDate = lastCampDonationDate; }
+
+    public LocalDate getNextEligibleDate() { return nextEligibleDate; }
+    public void setNextEligibleDate(LocalDate nextEligibleDate) { this.nextEligibleDate = nextEligibleDate; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
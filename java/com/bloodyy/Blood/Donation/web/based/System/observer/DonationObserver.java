@@ -0,0 +1,18 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import java.time.LocalDate;
+
+/**
+ * Notified whenever a donor's donation history changes
+ */
+public interface DonationObserver {
+
+    void onDonationRecorded(Donation donation);
+
+    void onDonationUpdated(Donation donation, LocalDate previousDate);
+
+    void onDonationDeleted(Donation donation);
+
+    String getObserverType();
+}
@@ -0,0 +1,53 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+
+/**
+ * Applies +1/-1 to the donation_monthly_rollup cell of every donation write,
+ * inside the DonationService transaction.
+ */
+@Component
+public class DonationRollupObserver implements DonationObserver {
+
+    @Autowired
+    private DonationRollupRepository donationRollupRepository;
+
+    @Override
+    public void onDonationRecorded(Donation donation) {
+        apply(donation, donation.getDonationDate(), 1);
+    }
+
+    @Override
+    public void onDonationUpdated(Donation donation, LocalDate previousDate) {
+        if (previousDate != null && toMonth(previousDate) == toMonth(donation.getDonationDate())) return;
+        if (previousDate != null) {
+            apply(donation, previousDate, -1);
+        }
+        apply(donation, donation.getDonationDate(), 1);
+    }
+
+    @Override
+    public void onDonationDeleted(Donation donation) {
+        apply(donation, donation.getDonationDate(), -1);
+    }
+
+    @Override
+    public String getObserverType() {
+        return "DONATION_MONTHLY_ROLLUP";
+    }
+
+    public static int toMonth(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    private void apply(Donation donation, LocalDate date, long delta) {
+        long campId = donation.getCamp() != null ? donation.getCamp().getId() : 0L;
+        long volunteerId = donation.getRecordedByVolunteerId() != null ? donation.getRecordedByVolunteerId() : 0L;
+        donationRollupRepository.applyDelta(toMonth(date), campId,
+                Boolean.TRUE.equals(donation.getIsCampDonation()), volunteerId, delta);
+    }
+}
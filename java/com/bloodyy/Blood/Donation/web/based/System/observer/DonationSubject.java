@@ -0,0 +1,12 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import java.util.List;
+
+public interface DonationSubject {
+
+    void registerObserver(DonationObserver observer);
+
+    void removeObserver(DonationObserver observer);
+
+    List<String> getRegisteredObservers();
+}
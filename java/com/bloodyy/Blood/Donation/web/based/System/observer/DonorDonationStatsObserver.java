@@ -0,0 +1,68 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorDonationStats;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonorDonationStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Keeps donor_donation_stats current inside the DonationService transaction.
+ * Consecutive gaps telescope, so the interval sum is always last - first:
+ * inserts are one atomic upsert that widens the first/last bounds, while updates and deletes re-read
+ * count/min/max for the donor from the (user_id, donation_date) index.
+ */
+@Component
+public class DonorDonationStatsObserver implements DonationObserver {
+
+    @Autowired
+    private DonorDonationStatsRepository donorDonationStatsRepository;
+
+    @Override
+    public void onDonationRecorded(Donation donation) {
+        // Single upsert, so concurrent donations by the same donor cannot lose an increment
+        donorDonationStatsRepository.recordDonation(donation.getUser().getId(), donation.getDonationDate());
+    }
+
+    @Override
+    public void onDonationUpdated(Donation donation, LocalDate previousDate) {
+        recompute(donation.getUser().getId());
+    }
+
+    @Override
+    public void onDonationDeleted(Donation donation) {
+        recompute(donation.getUser().getId());
+    }
+
+    @Override
+    public String getObserverType() {
+        return "DONOR_DONATION_STATS";
+    }
+
+    private void recompute(Long userId) {
+        List<Object[]> rows = donorDonationStatsRepository.aggregateDonations(userId);
+        Object[] row = rows.isEmpty() ? null : rows.get(0);
+        long count = row != null && row[0] != null ? ((Number) row[0]).longValue() : 0;
+
+        if (count == 0) {
+            donorDonationStatsRepository.deleteById(userId);
+        } else {
+            save(userId, count, (LocalDate) row[1], (LocalDate) row[2]);
+        }
+    }
+
+    private void save(Long userId, long count, LocalDate first, LocalDate last) {
+        DonorDonationStats stats = new DonorDonationStats();
+        stats.setUserId(userId);
+        stats.setDonationCount(count);
+        stats.setFirstDonationDate(first);
+        stats.setLastDonationDate(last);
+        stats.setSumIntervalDays(ChronoUnit.DAYS.between(first, last));
+        stats.setUpdatedAt(LocalDateTime.now());
+        donorDonationStatsRepository.save(stats);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorEligibility;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonorEligibilityRepository;
+import com.bloodyy.Blood.Donation.web.based.System.service.EligibilityRuleEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps donor_eligibility in step with the donations table. Runs inside the
+ * DonationService transaction, so the row commits or rolls back with the donation;
+ * a failure here propagates and rolls the donation back too.
+ */
+@Component
+public class DonorEligibilityMaterializer implements DonationObserver {
+
+    @Autowired
+    private DonorEligibilityRepository donorEligibilityRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private EligibilityRuleEngine eligibilityRuleEngine;
+
+    @Override
+    public void onDonationRecorded(Donation donation) {
+        if (!Boolean.TRUE.equals(donation.getIsCampDonation())) return;
+
+        // A new donation can only move the last date forward
+        Long userId = donation.getUser().getId();
+        DonorEligibility current = donorEligibilityRepository.findById(userId).orElse(null);
+        if (current == null || donation.getDonationDate().isAfter(current.getLastCampDonationDate())) {
+            save(userId, donation.getDonationDate());
+        }
+    }
+
+    @Override
+    public void onDonationUpdated(Donation donation, LocalDate previousDate) {
+        if (!Boolean.TRUE.equals(donation.getIsCampDonation())) return;
+        recompute(donation.getUser().getId());
+    }
+
+    @Override
+    public void onDonationDeleted(Donation donation) {
+        if (!Boolean.TRUE.equals(donation.getIsCampDonation())) return;
+        recompute(donation.getUser().getId());
+    }
+
+    @Override
+    public String getObserverType() {
+        return "DONOR_ELIGIBILITY_TABLE";
+    }
+
+    private void recompute(Long userId) {
+        LocalDate lastCampDonationDate = donationRepository.findLastCampDonationDate(userId);
+        if (lastCampDonationDate == null) {
+            donorEligibilityRepository.deleteById(userId);
+        } else {
+            save(userId, lastCampDonationDate);
+        }
+    }
+
+    private void save(Long userId, LocalDate lastCampDonationDate) {
+        DonorEligibility eligibility = new DonorEligibility();
+        eligibility.setUserId(userId);
+        eligibility.setLastCampDonationDate(lastCampDonationDate);
+        eligibility.setNextEligibleDate(eligibilityRuleEngine.nextCampDateAfter(lastCampDonationDate));
+        eligibility.setUpdatedAt(LocalDateTime.now());
+        donorEligibilityRepository.save(eligibility);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bloodyy.Blood.Donation.web.based.System.observer;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.service.DonationEligibilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDate;
+
+/**
+ * Drops a donor's cached eligibility snapshot when their donation history changes.
+ * The eviction waits for the donation transaction to commit, so a concurrent read
+ * cannot put the pre-change snapshot back into the cache.
+ */
+@Component
+public class DonorEligibilityObserver implements DonationObserver {
+
+    @Autowired
+    private DonationEligibilityService donationEligibilityService;
+
+    @Override
+    public void onDonationRecorded(Donation donation) {
+        invalidateAfterCommit(donation.getUser().getId());
+    }
+
+    @Override
+    public void onDonationUpdated(Donation donation, LocalDate previousDate) {
+        invalidateAfterCommit(donation.getUser().getId());
+    }
+
+    @Override
+    public void onDonationDeleted(Donation donation) {
+        invalidateAfterCommit(donation.getUser().getId());
+    }
+
+    @Override
+    public String getObserverType() {
+        return "DONOR_ELIGIBILITY_CACHE";
+    }
+
+    private void invalidateAfterCommit(Long donorId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    donationEligibilityService.invalidateSnapshot(donorId);
+                }
+            });
+        } else {
+            donationEligibilityService.invalidateSnapshot(donorId);
+        }
+    }
+}
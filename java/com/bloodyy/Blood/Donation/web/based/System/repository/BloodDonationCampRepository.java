@@ -1,35 +1,174 @@
 package com.bloodyy.Blood.Donation.web.based.System.repository;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampActivityCounts;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampScheduleTotals;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampSummary;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampTotals;
 import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BloodDonationCampRepository extends JpaRepository<BloodDonationCamp, Long> {
 
-    List<BloodDonationCamp> findByOrganizedByIdAndIsActiveOrderByCampDateDesc(Long volunteerId, Boolean isActive);
+    // Listing projection: camp columns plus organizer name, no entity hydration
+    String CAMP_SUMMARY_SELECT = "SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.CampSummary(" +
+            "c.id, c.campName, SUBSTRING(c.description, 1, " + CampSummary.DESCRIPTION_PREVIEW_LENGTH + "), c.location, " +
+            "c.campDate, c.startTime, c.endTime, c.maxDonors, c.currentDonors, " +
+            "o.id, o.firstName, o.lastName, o.isVolunteerVerified) " +
+            "FROM BloodDonationCamp c JOIN c.organizedBy o ";
 
-    List<BloodDonationCamp> findByIsActiveOrderByCampDateDesc(Boolean isActive);
+    // Keyset predicates over (campDate, startTime, id)
+    String AFTER_CURSOR = "(c.campDate > :cursorDate OR (c.campDate = :cursorDate AND " +
+            "(c.startTime > :cursorTime OR (c.startTime = :cursorTime AND c.id > :cursorId)))) ";
+    String BEFORE_CURSOR = "(c.campDate < :cursorDate OR (c.campDate = :cursorDate AND " +
+            "(c.startTime < :cursorTime OR (c.startTime = :cursorTime AND c.id < :cursorId)))) ";
+    String ASCENDING = "ORDER BY c.campDate ASC, c.startTime ASC, c.id ASC";
+    String DESCENDING = "ORDER BY c.campDate DESC, c.startTime DESC, c.id DESC";
 
-    List<BloodDonationCamp> findByCampDateAfterAndIsActiveOrderByCampDate(LocalDate date, Boolean isActive);
+    @EntityGraph(attributePaths = "organizedBy")
+    List<BloodDonationCamp> findByOrganizedByIdAndIsActiveOrderByCampDateDesc(Long volunteerId, Boolean isActive, Limit limit);
+
+    @EntityGraph(attributePaths = "organizedBy")
+    List<BloodDonationCamp> findByIsActiveOrderByCampDateDesc(Boolean isActive, Limit limit);
+
+    @EntityGraph(attributePaths = "organizedBy")
+    List<BloodDonationCamp> findByCampDateAfterAndIsActiveOrderByCampDate(LocalDate date, Boolean isActive, Limit limit);
 
     // ADD THIS METHOD: Find today's camps
+    @EntityGraph(attributePaths = "organizedBy")
     @Query("SELECT c FROM BloodDonationCamp c WHERE c.campDate = :date AND c.isActive = true")
     List<BloodDonationCamp> findByCampDateAndIsActive(@Param("date") LocalDate date);
 
+    @EntityGraph(attributePaths = "organizedBy")
     @Query("SELECT c FROM BloodDonationCamp c WHERE c.organizedBy.id = :volunteerId AND c.isActive = true ORDER BY c.campDate DESC")
-    List<BloodDonationCamp> findActiveCampsByVolunteer(@Param("volunteerId") Long volunteerId);
+    List<BloodDonationCamp> findActiveCampsByVolunteer(@Param("volunteerId") Long volunteerId, Limit limit);
 
     @Query("SELECT COUNT(c) FROM BloodDonationCamp c WHERE c.organizedBy.id = :volunteerId AND c.isActive = true")
     long countActiveCampsByVolunteer(@Param("volunteerId") Long volunteerId);
 
     // ADD THIS METHOD: Find camps by date range
+    @EntityGraph(attributePaths = "organizedBy")
     @Query("SELECT c FROM BloodDonationCamp c WHERE c.campDate BETWEEN :startDate AND :endDate AND c.isActive = true ORDER BY c.campDate, c.startTime")
-    List<BloodDonationCamp> findCampsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    List<BloodDonationCamp> findCampsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Limit limit);
 
     // ADD THIS METHOD: Search camps by name or location
+    @EntityGraph(attributePaths = "organizedBy")
     @Query("SELECT c FROM BloodDonationCamp c WHERE (LOWER(c.campName) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(c.location) LIKE LOWER(CONCAT('%', :search, '%'))) AND c.isActive = true")
     List<BloodDonationCamp> searchCamps(@Param("search") String search);
+
+    // Calendar index bootstrap: only the schedule keys, no entity hydration
+    @Query("SELECT c.id, c.campDate, c.startTime FROM BloodDonationCamp c WHERE c.isActive = true AND c.campDate >= :fromDate")
+    List<Object[]> findActiveCampScheduleFrom(@Param("fromDate") LocalDate fromDate);
+
+    // Load a set of camps together with their organizers in one query
+    @Query("SELECT c FROM BloodDonationCamp c JOIN FETCH c.organizedBy WHERE c.id IN :campIds")
+    List<BloodDonationCamp> findAllWithOrganizerByIdIn(@Param("campIds") Collection<Long> campIds);
+
+    // Dashboard counters for many camps in one round trip
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.CampActivityCounts(c.id, " +
+            "(SELECT COUNT(cr) FROM CampRegistration cr WHERE cr.camp = c AND cr.status = 'REGISTERED'), " +
+            "(SELECT COUNT(ca) FROM CampAttendance ca WHERE ca.camp = c), " +
+            "(SELECT COUNT(cd) FROM CampAttendance cd WHERE cd.camp = c AND cd.bloodDonated = true)) " +
+            "FROM BloodDonationCamp c WHERE c.id IN :campIds")
+    List<CampActivityCounts> findActivityCountsByCampIds(@Param("campIds") Collection<Long> campIds);
+
+    // Camp count and registered donors across all active camps of verified organizers
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.CampTotals(COUNT(c), COALESCE(SUM(c.currentDonors), 0L)) " +
+            "FROM BloodDonationCamp c WHERE c.isActive = true AND c.organizedBy.isVolunteerVerified = true")
+    CampTotals getActiveVerifiedCampTotals();
+
+    // Dashboard totals across active camps of verified organizers, without loading the camps
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.CampScheduleTotals(COUNT(c), " +
+            "SUM(CASE WHEN c.campDate = :today THEN 1L ELSE 0L END), SUM(CASE WHEN c.campDate > :today THEN 1L ELSE 0L END), " +
+            "SUM(COALESCE(c.maxDonors, 0)), SUM(COALESCE(c.currentDonors, 0))) " +
+            "FROM BloodDonationCamp c WHERE c.isActive = true AND c.organizedBy.isVolunteerVerified = true")
+    CampScheduleTotals getActiveVerifiedCampScheduleTotals(@Param("today") LocalDate today);
+
+    // Same totals for one volunteer's active camps
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.CampScheduleTotals(COUNT(c), " +
+            "SUM(CASE WHEN c.campDate = :today THEN 1L ELSE 0L END), SUM(CASE WHEN c.campDate > :today THEN 1L ELSE 0L END), " +
+            "SUM(COALESCE(c.maxDonors, 0)), SUM(COALESCE(c.currentDonors, 0))) " +
+            "FROM BloodDonationCamp c WHERE c.organizedBy.id = :volunteerId AND c.isActive = true")
+    CampScheduleTotals getActiveCampScheduleTotalsByVolunteer(@Param("volunteerId") Long volunteerId,
+                                                              @Param("today") LocalDate today);
+
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.isActive = true")
+    List<CampSummary> findAllActiveCampSummaries();
+
+    // Listing rows for ids resolved by the in-memory indexes; skips camps deactivated since
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.id IN :campIds AND c.isActive = true")
+    List<CampSummary> findActiveCampSummariesByIdIn(@Param("campIds") Collection<Long> campIds);
+
+    // =============================================
+    // SEAT COUNTER (single conditional UPDATE, row lock only)
+    // =============================================
+
+    // Claims one seat; returns 0 when the camp is full or inactive
+    @Modifying
+    @Transactional
+    @Query("UPDATE BloodDonationCamp c SET c.currentDonors = c.currentDonors + 1 " +
+            "WHERE c.id = :campId AND c.isActive = true AND c.currentDonors < c.maxDonors")
+    int reserveSeat(@Param("campId") Long campId);
+
+    // Gives one seat back; returns 0 when the counter is already at zero
+    @Modifying
+    @Transactional
+    @Query("UPDATE BloodDonationCamp c SET c.currentDonors = c.currentDonors - 1 " +
+            "WHERE c.id = :campId AND c.currentDonors > 0")
+    int releaseSeat(@Param("campId") Long campId);
+
+    // Locks the camp rows (SELECT ... FOR UPDATE) for a registration batch; rows are id, maxDonors
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id, c.maxDonors FROM BloodDonationCamp c WHERE c.id IN :campIds AND c.isActive = true")
+    List<Object[]> lockActiveCampCapacities(@Param("campIds") Collection<Long> campIds);
+
+    // =============================================
+    // KEYSET PAGINATION (pass limit = page size + 1 to detect a next page)
+    // =============================================
+
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.isActive = true AND o.isVolunteerVerified = true AND " + AFTER_CURSOR + ASCENDING)
+    List<CampSummary> findUpcomingVerifiedCampSummariesPage(@Param("cursorDate") LocalDate cursorDate,
+                                                            @Param("cursorTime") LocalTime cursorTime,
+                                                            @Param("cursorId") Long cursorId,
+                                                            Limit limit);
+
+    // Walks back from the cursor (newest first) without going before fromDate; used for "previous page"
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.isActive = true AND o.isVolunteerVerified = true AND c.campDate >= :fromDate AND " +
+            BEFORE_CURSOR + DESCENDING)
+    List<CampSummary> findUpcomingVerifiedCampSummariesPageBefore(@Param("fromDate") LocalDate fromDate,
+                                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                                  @Param("cursorTime") LocalTime cursorTime,
+                                                                  @Param("cursorId") Long cursorId,
+                                                                  Limit limit);
+
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.isActive = true AND " + BEFORE_CURSOR + DESCENDING)
+    List<CampSummary> findActiveCampSummariesPage(@Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorTime") LocalTime cursorTime,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Limit limit);
+
+    @Query(CAMP_SUMMARY_SELECT + "WHERE o.id = :volunteerId AND c.isActive = true AND " + BEFORE_CURSOR + DESCENDING)
+    List<CampSummary> findActiveCampSummariesByVolunteerPage(@Param("volunteerId") Long volunteerId,
+                                                             @Param("cursorDate") LocalDate cursorDate,
+                                                             @Param("cursorTime") LocalTime cursorTime,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Limit limit);
+
+    @Query(CAMP_SUMMARY_SELECT + "WHERE c.isActive = true AND c.campDate <= :endDate AND " + AFTER_CURSOR + ASCENDING)
+    List<CampSummary> findCampSummariesByDateRangePage(@Param("endDate") LocalDate endDate,
+                                                       @Param("cursorDate") LocalDate cursorDate,
+                                                       @Param("cursorTime") LocalTime cursorTime,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Limit limit);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 // File: CampAttendanceRepository.java
 package com.bloodyy.Blood.Donation.web.based.System.repository;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.AttendanceTotals;
 import com.bloodyy.Blood.Donation.web.based.System.entity.CampAttendance;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,7 +30,28 @@ public interface CampAttendanceRepository extends JpaRepository<CampAttendance,
 
     boolean existsByCampIdAndDonorId(Long campId, Long donorId);
 
+    // Check-in roster names; rows are donorId, firstName, lastName, isVerified, bloodDonated
+    @Query("SELECT ca.donor.id, ca.donor.firstName, ca.donor.lastName, ca.donor.isVerified, ca.bloodDonated " +
+            "FROM CampAttendance ca WHERE ca.camp.id = :campId")
+    List<Object[]> findAttendeeNamesByCampId(@Param("campId") Long campId);
+
+    // Which of the given donors already have attendance recorded for the camp
+    @Query("SELECT ca.donor.id FROM CampAttendance ca WHERE ca.camp.id = :campId AND ca.donor.id IN :donorIds")
+    List<Long> findRecordedDonorIds(@Param("campId") Long campId, @Param("donorIds") Collection<Long> donorIds);
+
     // ADD THIS METHOD - Fix for missing implementation
     @Query("SELECT COUNT(ca) FROM CampAttendance ca WHERE ca.camp.id = :campId")
     long countByCampId(@Param("campId") Long campId);
+
+    // Attendance and donation totals for one camp in a single pass over its attendance index
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.AttendanceTotals(COUNT(ca), " +
+            "COALESCE(SUM(CASE WHEN ca.bloodDonated = true THEN 1L ELSE 0L END), 0L)) " +
+            "FROM CampAttendance ca WHERE ca.camp.id = :campId")
+    AttendanceTotals getCampAttendanceTotals(@Param("campId") Long campId);
+
+    // Attendance and donation totals across all active camps of verified organizers
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.AttendanceTotals(COUNT(ca), " +
+            "COALESCE(SUM(CASE WHEN ca.bloodDonated = true THEN 1L ELSE 0L END), 0L)) " +
+            "FROM CampAttendance ca WHERE ca.camp.isActive = true AND ca.camp.organizedBy.isVolunteerVerified = true")
+    AttendanceTotals getGlobalAttendanceTotals();
 }
\ No newline at end of file
@@ -3,8 +3,12 @@ package com.bloodyy.Blood.Donation.web.based.System.repository;
 
 import com.bloodyy.Blood.Donation.web.based.System.entity.CampRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,44 @@ public interface CampRegistrationRepository extends JpaRepository<CampRegistrati
     @Query("SELECT COUNT(cr) FROM CampRegistration cr WHERE cr.camp.id = :campId AND cr.status = 'REGISTERED'")
     long countActiveRegistrationsByCampId(@Param("campId") Long campId);
 
+    @Query("SELECT cr.donor.id FROM CampRegistration cr WHERE cr.camp.id = :campId AND cr.status = 'REGISTERED'")
+    List<Long> findActiveDonorIdsByCampId(@Param("campId") Long campId);
+
+    // Rows are campId, active registration count
+    @Query("SELECT cr.camp.id, COUNT(cr) FROM CampRegistration cr WHERE cr.camp.id IN :campIds AND cr.status = 'REGISTERED' GROUP BY cr.camp.id")
+    List<Object[]> countActiveRegistrationsByCampIds(@Param("campIds") Collection<Long> campIds);
+
+    // Rows are campId, donorId for active registrations among the given camps and donors
+    @Query("SELECT cr.camp.id, cr.donor.id FROM CampRegistration cr WHERE cr.camp.id IN :campIds " +
+            "AND cr.donor.id IN :donorIds AND cr.status = 'REGISTERED'")
+    List<Object[]> findActiveRegistrationPairs(@Param("campIds") Collection<Long> campIds,
+                                               @Param("donorIds") Collection<Long> donorIds);
+
+    // Check-in roster names; rows are donorId, firstName, lastName, isVerified
+    @Query("SELECT cr.donor.id, cr.donor.firstName, cr.donor.lastName, cr.donor.isVerified FROM CampRegistration cr " +
+            "WHERE cr.camp.id = :campId AND cr.status = 'REGISTERED'")
+    List<Object[]> findRosterNamesByCampId(@Param("campId") Long campId);
+
+    // Rows are donorId, userType, isVerified for the given donors actively registered for one camp
+    @Query("SELECT cr.donor.id, cr.donor.user_type, cr.donor.isVerified FROM CampRegistration cr " +
+            "WHERE cr.camp.id = :campId AND cr.donor.id IN :donorIds AND cr.status = 'REGISTERED'")
+    List<Object[]> findRegisteredDonorsAmong(@Param("campId") Long campId,
+                                             @Param("donorIds") Collection<Long> donorIds);
+
     @Query("SELECT cr FROM CampRegistration cr WHERE cr.donor.id = :donorId AND cr.camp.isActive = true")
     List<CampRegistration> findActiveRegistrationsByDonor(@Param("donorId") Long donorId);
+
+    // Cancels only if still active, so concurrent cancels release a seat once
+    @Modifying
+    @Transactional
+    @Query("UPDATE CampRegistration cr SET cr.status = 'CANCELLED' WHERE cr.id = :registrationId AND cr.status = 'REGISTERED'")
+    int cancelIfRegistered(@Param("registrationId") Long registrationId);
+
+    // Re-registration reuses the donor's cancelled row (one row per camp and donor)
+    @Modifying
+    @Transactional
+    @Query("UPDATE CampRegistration cr SET cr.status = 'REGISTERED', cr.registeredAt = :registeredAt " +
+            "WHERE cr.camp.id = :campId AND cr.donor.id = :donorId AND cr.status = 'CANCELLED'")
+    int reactivateIfCancelled(@Param("campId") Long campId, @Param("donorId") Long donorId,
+                              @Param("registeredAt") LocalDateTime registeredAt);
 }
\ No newline at end of file
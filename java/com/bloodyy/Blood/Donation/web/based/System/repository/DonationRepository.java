@@ -0,0 +1,84 @@
+package com.bloodyy.Blood.Donation.web.based.System.repository;
+
+import com.bloodyy.Blood.Donation.web.based.System.dto.DonorDonationSummary;
+import com.bloodyy.Blood.Donation.web.based.System.dto.DonorSnapshot;
+import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DonationRepository extends JpaRepository<Donation, Long> {
+
+    long countByUserId(Long userId);
+
+    boolean existsByUserIdAndCampId(Long userId, Long campId);
+
+    Optional<Donation> findTopByUserIdOrderByDonationDateDesc(Long userId);
+
+    List<Donation> findByUserIdOrderByDonationDateDesc(Long userId);
+
+    // Per-donor history filters, served by the (user_id, ...) composite indexes on donations
+    List<Donation> findByUserIdOrderByDonationDateDesc(Long userId, Limit limit);
+
+    List<Donation> findByUserIdAndDonationDateBetweenOrderByDonationDateDesc(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<Donation> findByUserIdAndIsCampDonationOrderByDonationDateDesc(Long userId, Boolean isCampDonation);
+
+    @Query("SELECT d FROM Donation d WHERE d.user.id = :userId AND d.isCampDonation = true ORDER BY d.donationDate DESC")
+    List<Donation> findCampDonationsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT d FROM Donation d WHERE d.user.id = :userId AND d.isCampDonation = true AND d.donationDate = (SELECT MAX(d2.donationDate) FROM Donation d2 WHERE d2.user.id = :userId AND d2.isCampDonation = true)")
+    Optional<Donation> findLastCampDonationByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(d) FROM Donation d WHERE d.user.id = :userId AND d.isCampDonation = true AND d.donationDate >= :startDate")
+    long countCampDonationsSinceDate(@Param("userId") Long userId, @Param("startDate") LocalDate startDate);
+
+    @Query("SELECT d FROM Donation d WHERE d.camp.id = :campId AND d.isCampDonation = true")
+    List<Donation> findDonationsByCampId(@Param("campId") Long campId);
+
+    @Query("SELECT COUNT(d) FROM Donation d WHERE d.user.id = :userId AND d.isCampDonation = true")
+    long countCampDonationsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT d FROM Donation d WHERE d.recordedByVolunteerId = :volunteerId AND d.isCampDonation = true ORDER BY d.donationDate DESC")
+    List<Donation> findCampDonationsRecordedByVolunteer(@Param("volunteerId") Long volunteerId);
+
+    @Query("SELECT MAX(d.donationDate) FROM Donation d WHERE d.user.id = :userId AND d.isCampDonation = true")
+    LocalDate findLastCampDonationDate(@Param("userId") Long userId);
+
+    // Last camp donation date per user for many users in one query; rows are userId, max date
+    @Query("SELECT d.user.id, MAX(d.donationDate) FROM Donation d WHERE d.user.id IN :userIds AND d.isCampDonation = true GROUP BY d.user.id")
+    List<Object[]> findLastCampDonationDatesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Counts and latest dates for one donor in a single round trip
+    @Query("SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.DonorDonationSummary(" +
+            "COUNT(d), " +
+            "COALESCE(SUM(CASE WHEN d.isCampDonation = true THEN 1L ELSE 0L END), 0L), " +
+            "MAX(d.donationDate), " +
+            "MAX(CASE WHEN d.isCampDonation = true THEN d.donationDate ELSE NULL END)) " +
+            "FROM Donation d WHERE d.user.id = :userId")
+    DonorDonationSummary getDonationSummary(@Param("userId") Long userId);
+
+    // Donation counts per month and type within a date range; rows are year, month, isCampDonation, count
+    @Query("SELECT YEAR(d.donationDate), MONTH(d.donationDate), d.isCampDonation, COUNT(d) FROM Donation d " +
+            "WHERE d.donationDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(d.donationDate), MONTH(d.donationDate), d.isCampDonation " +
+            "ORDER BY YEAR(d.donationDate), MONTH(d.donationDate)")
+    List<Object[]> countDonationsByMonthAndType(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    // Eligibility snapshots: user columns plus latest donation dates, one row per user
+    String DONOR_SNAPSHOT_SELECT = "SELECT new com.bloodyy.Blood.Donation.web.based.System.dto.DonorSnapshot(" +
+            "u.id, u.user_type, u.isVerified, u.dateOfBirth, MAX(d.donationDate), " +
+            "MAX(CASE WHEN d.isCampDonation = true THEN d.donationDate ELSE NULL END)) " +
+            "FROM User u LEFT JOIN Donation d ON d.user = u ";
+    String DONOR_SNAPSHOT_GROUP = " GROUP BY u.id, u.user_type, u.isVerified, u.dateOfBirth";
+
+    @Query(DONOR_SNAPSHOT_SELECT + "WHERE u.id IN :userIds" + DONOR_SNAPSHOT_GROUP)
+    List<DonorSnapshot> findDonorSnapshots(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,58 @@
+package com.bloodyy.Blood.Donation.web.based.System.repository;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonationMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+public interface DonationRollupRepository extends JpaRepository<DonationMonthlyRollup, Long> {
+
+    // Add delta (+1 / -1) to one rollup cell, creating it on first use
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO donation_monthly_rollup (donation_month, camp_id, is_camp_donation, volunteer_id, donation_count) " +
+            "VALUES (:donationMonth, :campId, :isCampDonation, :volunteerId, :delta) " +
+            "ON DUPLICATE KEY UPDATE donation_count = donation_count + :delta",
+            nativeQuery = true)
+    int applyDelta(@Param("donationMonth") int donationMonth,
+                   @Param("campId") long campId,
+                   @Param("isCampDonation") boolean isCampDonation,
+                   @Param("volunteerId") long volunteerId,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM donation_monthly_rollup", nativeQuery = true)
+    int deleteAllCells();
+
+    // Backfill from the donations table
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO donation_monthly_rollup (donation_month, camp_id, is_camp_donation, volunteer_id, donation_count) " +
+            "SELECT YEAR(d.donation_date) * 100 + MONTH(d.donation_date), COALESCE(d.camp_id, 0), " +
+            "COALESCE(d.is_camp_donation, false), COALESCE(d.recorded_by_volunteer_id, 0), COUNT(*) " +
+            "FROM donations d " +
+            "GROUP BY YEAR(d.donation_date) * 100 + MONTH(d.donation_date), COALESCE(d.camp_id, 0), " +
+            "COALESCE(d.is_camp_donation, false), COALESCE(d.recorded_by_volunteer_id, 0)",
+            nativeQuery = true)
+    int insertAllFromDonations();
+
+    // Rows are donationMonth (yyyymm), isCampDonation, count
+    @Query("SELECT r.donationMonth, r.isCampDonation, SUM(r.donationCount) FROM DonationMonthlyRollup r " +
+            "WHERE r.donationMonth BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY r.donationMonth, r.isCampDonation ORDER BY r.donationMonth")
+    List<Object[]> sumByMonthAndType(@Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth);
+
+    // Rows are campId, count
+    @Query("SELECT r.campId, SUM(r.donationCount) FROM DonationMonthlyRollup r " +
+            "WHERE r.donationMonth BETWEEN :fromMonth AND :toMonth AND r.campId <> 0 GROUP BY r.campId")
+    List<Object[]> sumByCamp(@Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth);
+
+    // Rows are volunteerId, count
+    @Query("SELECT r.volunteerId, SUM(r.donationCount) FROM DonationMonthlyRollup r " +
+            "WHERE r.donationMonth BETWEEN :fromMonth AND :toMonth AND r.volunteerId <> 0 GROUP BY r.volunteerId")
+    List<Object[]> sumByVolunteer(@Param("fromMonth") int fromMonth, @Param("toMonth") int toMonth);
+}
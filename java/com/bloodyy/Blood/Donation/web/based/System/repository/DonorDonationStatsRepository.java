@@ -0,0 +1,49 @@
+package com.bloodyy.Blood.Donation.web.based.System.repository;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorDonationStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DonorDonationStatsRepository extends JpaRepository<DonorDonationStats, Long> {
+
+    // One row: count, first date, last date for a donor's donations
+    @Query("SELECT COUNT(d), MIN(d.donationDate), MAX(d.donationDate) FROM Donation d WHERE d.user.id = :userId")
+    List<Object[]> aggregateDonations(@Param("userId") Long userId);
+
+    // Count one new donation atomically, creating the row on first use. MySQL applies the assignments
+    // left to right, so the interval sum (telescoped to last - first) sees the widened bounds.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO donor_donation_stats (user_id, donation_count, first_donation_date, last_donation_date, sum_interval_days, updated_at) " +
+            "VALUES (:userId, 1, :donationDate, :donationDate, 0, NOW()) " +
+            "ON DUPLICATE KEY UPDATE donation_count = donation_count + 1, " +
+            "first_donation_date = LEAST(first_donation_date, VALUES(first_donation_date)), " +
+            "last_donation_date = GREATEST(last_donation_date, VALUES(last_donation_date)), " +
+            "sum_interval_days = DATEDIFF(last_donation_date, first_donation_date), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int recordDonation(@Param("userId") Long userId, @Param("donationDate") LocalDate donationDate);
+
+    // Full rebuild; gaps between consecutive donations come from LAG() over each donor's history
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO donor_donation_stats (user_id, donation_count, first_donation_date, last_donation_date, sum_interval_days, updated_at) " +
+            "SELECT g.user_id, COUNT(*), MIN(g.donation_date), MAX(g.donation_date), COALESCE(SUM(g.gap_days), 0), NOW() " +
+            "FROM (SELECT d.user_id, d.donation_date, " +
+            "DATEDIFF(d.donation_date, LAG(d.donation_date) OVER (PARTITION BY d.user_id ORDER BY d.donation_date)) AS gap_days " +
+            "FROM donations d) g " +
+            "GROUP BY g.user_id " +
+            "ON DUPLICATE KEY UPDATE donation_count = VALUES(donation_count), first_donation_date = VALUES(first_donation_date), " +
+            "last_donation_date = VALUES(last_donation_date), sum_interval_days = VALUES(sum_interval_days), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int upsertAllFromDonations();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM donor_donation_stats WHERE user_id NOT IN (SELECT d.user_id FROM donations d)", nativeQuery = true)
+    int deleteWithoutDonations();
+}
@@ -0,0 +1,45 @@
+package com.bloodyy.Blood.Donation.web.based.System.repository;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorEligibility;
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DonorEligibilityRepository extends JpaRepository<DonorEligibility, Long> {
+
+    // Donors whose cooldown ends within the range (range scan on next_eligible_date)
+    List<DonorEligibility> findByNextEligibleDateBetweenOrderByNextEligibleDate(LocalDate from, LocalDate to);
+
+    @Query("SELECT e.userId FROM DonorEligibility e WHERE e.nextEligibleDate BETWEEN :from AND :to ORDER BY e.nextEligibleDate")
+    List<Long> findUserIdsBecomingEligibleBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    long countByNextEligibleDateAfter(LocalDate date);
+
+    // Verified donors with no cooldown running on the given date
+    @Query("SELECT u FROM User u WHERE u.user_type = 'DONOR' AND u.isVerified = true AND NOT EXISTS " +
+            "(SELECT e FROM DonorEligibility e WHERE e.userId = u.id AND e.nextEligibleDate > :date)")
+    List<User> findVerifiedDonorsEligibleOn(@Param("date") LocalDate date);
+
+    // Full rebuild from the donations table
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO donor_eligibility (user_id, last_camp_donation_date, next_eligible_date, updated_at) " +
+            "SELECT d.user_id, MAX(d.donation_date), DATE_ADD(MAX(d.donation_date), INTERVAL :months MONTH), NOW() " +
+            "FROM donations d WHERE d.is_camp_donation = true GROUP BY d.user_id " +
+            "ON DUPLICATE KEY UPDATE last_camp_donation_date = VALUES(last_camp_donation_date), " +
+            "next_eligible_date = VALUES(next_eligible_date), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int upsertAllFromDonations(@Param("months") int months);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM donor_eligibility WHERE user_id NOT IN " +
+            "(SELECT d.user_id FROM donations d WHERE d.is_camp_donation = true)",
+            nativeQuery = true)
+    int deleteWithoutCampDonations();
+}
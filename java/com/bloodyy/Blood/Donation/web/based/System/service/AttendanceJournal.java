@@ -0,0 +1,358 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead journal for camp check-ins and blood donation marks, for camps on a slow
+ * database link. Events are appended to a memory-mapped file and acknowledged once forced to
+ * disk; concurrent appenders share one force (group commit). A scheduled drainer applies them
+ * through AttendanceJournalApplier and checkpoints the applied offset, so whatever was not
+ * applied before a restart is replayed on startup. Entries the database turns down are kept
+ * in a bounded rejected list instead of blocking the entries behind them.
+ *
+ * File layout: header [appliedPosition:long][generation:long] padded to 64 bytes, then records
+ * [length:int][crc32:int][payload]. The generation is bumped each time the file is rewound,
+ * so leftover records from the previous pass are never mistaken for new ones.
+ */
+@Component
+public class AttendanceJournal {
+
+    public static final byte CHECK_IN = 1;
+    public static final byte BLOOD_DONATION = 2;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAX_REJECTED = 1000;
+
+    @Value("${app.attendance-journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.attendance-journal.path:data/attendance-journal.dat}")
+    private String path;
+
+    @Value("${app.attendance-journal.size-mb:64}")
+    private int sizeMb;
+
+    @Value("${app.attendance-journal.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.attendance-journal.max-apply-attempts:5}")
+    private int maxApplyAttempts;
+
+    @Autowired
+    private AttendanceJournalApplier applier;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+
+    private final Object appendLock = new Object();
+    private int writePosition;                  // guarded by appendLock
+    private volatile int durablePosition;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private int appliedPosition;                // drainer only
+    private int headAttempts;                   // drainer only, failed runs of the entry at appliedPosition
+    private final ConcurrentLinkedDeque<RejectedEntry> rejected = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) return;
+
+        Path file = Paths.get(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sizeMb * 1024 * 1024);
+
+        appliedPosition = (int) buffer.getLong(0);
+        generation = buffer.getLong(8);
+        if (appliedPosition < HEADER_SIZE) {
+            appliedPosition = HEADER_SIZE;   // new file
+        }
+
+        // Replay: everything valid after the checkpoint is still to be applied
+        int position = appliedPosition;
+        int pending = 0;
+        int next;
+        while ((next = nextRecord(position)) > 0) {
+            position = next;
+            pending++;
+        }
+        writePosition = position;
+        durablePosition = position;
+
+        System.out.println("Attendance journal opened at " + file.toAbsolutePath() + ": " + pending + " entries to replay");
+    }
+
+    public boolean isEnabled() {
+        return enabled && buffer != null;
+    }
+
+    /**
+     * Append an event and return once it is on disk
+     */
+    public void append(byte type, Long campId, Long donorId, Long volunteerId, String notes) throws Exception {
+        byte[] noteBytes = (notes != null ? notes : "").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(8 + 1 + 8 * 4 + 4 + noteBytes.length);
+
+        int end;
+        synchronized (appendLock) {
+            payload.putLong(generation)
+                    .put(type)
+                    .putLong(campId)
+                    .putLong(donorId)
+                    .putLong(volunteerId)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(noteBytes.length)
+                    .put(noteBytes);
+            byte[] bytes = payload.array();
+
+            if (writePosition + RECORD_HEADER_SIZE + bytes.length > buffer.capacity()) {
+                throw new Exception("Attendance journal is full, please try again shortly");
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            buffer.put(writePosition + RECORD_HEADER_SIZE, bytes);
+            buffer.putInt(writePosition + 4, (int) crc.getValue());
+            buffer.putInt(writePosition, bytes.length);    // length last: a torn record stays invisible
+            writePosition += RECORD_HEADER_SIZE + bytes.length;
+            end = writePosition;
+        }
+
+        awaitDurable(end);
+    }
+
+    // Group commit: one force covers every append made before it started
+    private void awaitDurable(int position) {
+        if (durablePosition >= position) return;
+        syncLock.lock();
+        try {
+            if (durablePosition >= position) return;
+            int target;
+            synchronized (appendLock) {
+                target = writePosition;
+            }
+            buffer.force();
+            durablePosition = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Entries that were acknowledged but could not be applied, oldest first
+     */
+    public List<RejectedEntry> getRejectedEntries() {
+        return new ArrayList<>(rejected);
+    }
+
+    /**
+     * Apply the next batch of durable entries and move the checkpoint past them. If the batch
+     * fails, its entries are applied one per transaction so a bad entry is isolated: database
+     * outages keep it at the head, anything else rejects it after max-apply-attempts runs.
+     */
+    @Scheduled(fixedDelayString = "${app.attendance-journal.drain-interval-ms:200}")
+    public synchronized void drain() {
+        if (!isEnabled()) return;
+
+        int end = durablePosition;
+        if (appliedPosition >= end) {
+            rewindIfDrained();
+            return;
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        List<Integer> entryEnds = new ArrayList<>();
+        int position = appliedPosition;
+        while (position < end && entries.size() < batchSize) {
+            entries.add(readEntry(position));
+            position += RECORD_HEADER_SIZE + buffer.getInt(position);
+            entryEnds.add(position);
+        }
+
+        try {
+            reject(applier.apply(entries));
+            checkpoint(position);
+            return;
+        } catch (Exception e) {
+            System.err.println("Error applying attendance journal batch, applying entries one at a time: " + e.getMessage());
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            JournalEntry entry = entries.get(i);
+            try {
+                reject(applier.apply(List.of(entry)));
+            } catch (Exception e) {
+                if (isTransient(e) || ++headAttempts < maxApplyAttempts) {
+                    // Checkpoint what was applied; this entry is retried on the next run
+                    System.err.println("Error applying attendance journal entry for donor " + entry.getDonorId()
+                            + " at camp " + entry.getCampId() + ": " + e.getMessage());
+                    if (i > 0) checkpoint(entryEnds.get(i - 1));
+                    return;
+                }
+                reject(List.of(new RejectedEntry(entry, e.getMessage())));
+            }
+            headAttempts = 0;
+        }
+        checkpoint(position);
+    }
+
+    private void checkpoint(int position) {
+        appliedPosition = position;
+        headAttempts = 0;
+        buffer.putLong(0, position);
+        buffer.force();
+    }
+
+    private void reject(List<RejectedEntry> entries) {
+        for (RejectedEntry entry : entries) {
+            System.err.println("Attendance journal entry rejected for donor " + entry.getEntry().getDonorId()
+                    + " at camp " + entry.getEntry().getCampId() + ": " + entry.getReason());
+            rejected.addLast(entry);
+        }
+        while (rejected.size() > MAX_REJECTED) {
+            rejected.pollFirst();
+        }
+    }
+
+    // Connection and transaction failures say nothing about the entry itself
+    private static boolean isTransient(Exception e) {
+        return e instanceof DataAccessResourceFailureException
+                || e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof TransactionException;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!isEnabled()) return;
+        drain();
+        buffer.force();
+        channel.close();
+    }
+
+    // Once everything is applied and the file is half used, start again from the top
+    private void rewindIfDrained() {
+        if (appliedPosition < buffer.capacity() / 2) return;
+
+        syncLock.lock();
+        try {
+            synchronized (appendLock) {
+                if (writePosition != appliedPosition) return;
+                generation++;
+                buffer.putLong(8, generation);
+                buffer.putLong(0, HEADER_SIZE);
+                buffer.force();
+                writePosition = HEADER_SIZE;
+                durablePosition = HEADER_SIZE;
+                appliedPosition = HEADER_SIZE;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Position after a valid record of the current generation at the given offset, or -1
+    private int nextRecord(int position) {
+        if (position + RECORD_HEADER_SIZE > buffer.capacity()) return -1;
+        int length = buffer.getInt(position);
+        if (length <= 8 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) return -1;
+
+        byte[] bytes = new byte[length];
+        buffer.get(position + RECORD_HEADER_SIZE, bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) return -1;
+        if (ByteBuffer.wrap(bytes).getLong() != generation) return -1;
+
+        return position + RECORD_HEADER_SIZE + length;
+    }
+
+    private JournalEntry readEntry(int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + RECORD_HEADER_SIZE, bytes);
+
+        ByteBuffer payload = ByteBuffer.wrap(bytes);
+        payload.getLong();  // generation
+        byte type = payload.get();
+        long campId = payload.getLong();
+        long donorId = payload.getLong();
+        long volunteerId = payload.getLong();
+        LocalDateTime occurredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(payload.getLong()), ZoneId.systemDefault());
+        byte[] noteBytes = new byte[payload.getInt()];
+        payload.get(noteBytes);
+
+        return new JournalEntry(type, campId, donorId, volunteerId, occurredAt,
+                new String(noteBytes, StandardCharsets.UTF_8));
+    }
+
+    public static class JournalEntry {
+        private final byte type;
+        private final Long campId;
+        private final Long donorId;
+        private final Long volunteerId;
+        private final LocalDateTime occurredAt;
+        private final String notes;
+
+        public JournalEntry(byte type, Long campId, Long donorId, Long volunteerId, LocalDateTime occurredAt, String notes) {
+            this.type = type;
+            this.campId = campId;
+            this.donorId = donorId;
+            this.volunteerId = volunteerId;
+            this.occurredAt = occurredAt;
+            this.notes = notes;
+        }
+
+        // Getters
+        public byte getType() { return type; }
+        public Long getCampId() { return campId; }
+        public Long getDonorId() { return donorId; }
+        public Long getVolunteerId() { return volunteerId; }
+        public LocalDateTime getOccurredAt() { return occurredAt; }
+        public String getNotes() { return notes; }
+    }
+
+    public static class RejectedEntry {
+        private final JournalEntry entry;
+        private final String reason;
+        private final LocalDateTime rejectedAt = LocalDateTime.now();
+
+        public RejectedEntry(JournalEntry entry, String reason) {
+            this.entry = entry;
+            this.reason = reason;
+        }
+
+        // Getters
+        public JournalEntry getEntry() { return entry; }
+        public String getReason() { return reason; }
+        public LocalDateTime getRejectedAt() { return rejectedAt; }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies AttendanceJournal entries to camp_attendance and donations. Every statement is
+ * guarded so replaying an entry that was already applied changes nothing: check-ins insert
+ * only when the donor is registered and not yet recorded, and a donation outbox event is
+ * written only by the update that flips blood_donated from false to true. Entries that did
+ * nothing because the donor is not on the camp's records are returned as rejected.
+ */
+@Component
+public class AttendanceJournalApplier {
+
+    private static final String INSERT_CHECK_IN =
+            "INSERT INTO camp_attendance (camp_id, donor_id, recorded_by, attended_at, blood_donated, notes) " +
+            "SELECT ?, ?, ?, ?, false, '' FROM DUAL " +
+            "WHERE EXISTS (SELECT 1 FROM camp_registrations WHERE camp_id = ? AND donor_id = ? AND status = 'REGISTERED') " +
+            "AND NOT EXISTS (SELECT 1 FROM camp_attendance WHERE camp_id = ? AND donor_id = ?)";
+
+    private static final String MARK_BLOOD_DONATED =
+            "UPDATE camp_attendance SET blood_donated = true, notes = ? " +
+            "WHERE camp_id = ? AND donor_id = ? AND blood_donated = false";
+
+    private static final String COUNT_ATTENDANCE =
+            "SELECT COUNT(*) FROM camp_attendance WHERE camp_id = ? AND donor_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxPump outboxPump;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    /**
+     * Apply entries in journal order; consecutive check-ins go out as one JDBC batch.
+     * Returns the entries that were turned down.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<AttendanceJournal.RejectedEntry> apply(List<AttendanceJournal.JournalEntry> entries) throws Exception {
+        List<AttendanceJournal.RejectedEntry> rejected = new ArrayList<>();
+        List<AttendanceJournal.JournalEntry> checkIns = new ArrayList<>();
+        for (AttendanceJournal.JournalEntry entry : entries) {
+            if (entry.getType() == AttendanceJournal.CHECK_IN) {
+                checkIns.add(entry);
+            } else if (entry.getType() == AttendanceJournal.BLOOD_DONATION) {
+                writeCheckIns(checkIns, rejected);
+                markBloodDonation(entry, rejected);
+            }
+        }
+        writeCheckIns(checkIns, rejected);
+        return rejected;
+    }
+
+    private void writeCheckIns(List<AttendanceJournal.JournalEntry> checkIns, List<AttendanceJournal.RejectedEntry> rejected) {
+        if (checkIns.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>();
+        for (AttendanceJournal.JournalEntry entry : checkIns) {
+            rows.add(new Object[]{entry.getCampId(), entry.getDonorId(), entry.getVolunteerId(),
+                    Timestamp.valueOf(entry.getOccurredAt()),
+                    entry.getCampId(), entry.getDonorId(), entry.getCampId(), entry.getDonorId()});
+        }
+
+        int[] updates = jdbcTemplate.batchUpdate(INSERT_CHECK_IN, rows);
+        for (int i = 0; i < updates.length; i++) {
+            AttendanceJournal.JournalEntry entry = checkIns.get(i);
+            if (updates[i] != 0) {
+                campLiveFeed.publish(entry.getCampId(), 1, 0, 0);   // sent after commit
+            } else if (!hasAttendance(entry)) {
+                // A replayed check-in finds its row already there; no row means no registration
+                rejected.add(new AttendanceJournal.RejectedEntry(entry, "Donor is not registered for this camp"));
+            }
+        }
+        checkIns.clear();
+    }
+
+    private void markBloodDonation(AttendanceJournal.JournalEntry entry, List<AttendanceJournal.RejectedEntry> rejected) throws Exception {
+        int updated = jdbcTemplate.update(MARK_BLOOD_DONATED, entry.getNotes(), entry.getCampId(), entry.getDonorId());
+        if (updated == 0) {
+            if (!hasAttendance(entry)) {
+                rejected.add(new AttendanceJournal.RejectedEntry(entry, "Attendance record not found"));
+            }
+            return;
+        }
+        campLiveFeed.publish(entry.getCampId(), 0, 1, 0);
+
+        // Same path as CampAttendanceService.markBloodDonation: the donation follows from the outbox
+        outboxPump.enqueue(OutboxEvent.BLOOD_DONATION_RECORDED, entry.getCampId(), entry.getDonorId(),
+                entry.getVolunteerId(), entry.getOccurredAt().toLocalDate());
+    }
+
+    private boolean hasAttendance(AttendanceJournal.JournalEntry entry) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_ATTENDANCE, Integer.class, entry.getCampId(), entry.getDonorId());
+        return count != null && count > 0;
+    }
+}
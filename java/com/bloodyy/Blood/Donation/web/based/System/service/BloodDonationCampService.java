@@ -1,11 +1,17 @@
 package com.bloodyy.Blood.Donation.web.based.System.service;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampActivityCounts;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampCursor;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampPage;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampScheduleTotals;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampSummary;
 import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
 import com.bloodyy.Blood.Donation.web.based.System.entity.CampRegistration;
 import com.bloodyy.Blood.Donation.web.based.System.entity.User;
 import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
 import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
@@ -14,18 +20,34 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BloodDonationCampService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BloodDonationCampRepository campRepository;
 
     @Autowired
     private CampRegistrationRepository campRegistrationRepository;
 
+    @Autowired
+    private CampCalendarIndex campCalendarIndex;
+
+    @Autowired
+    private CampSearchIndex campSearchIndex;
+
+    @Autowired
+    private CampCache campCache;
+
+    @Autowired
+    private CampSeatLedger campSeatLedger;
+
     public BloodDonationCamp createCamp(BloodDonationCamp camp, User volunteer) throws Exception {
         if (!"VOLUNTEER".equals(volunteer.getUser_type()) || !volunteer.getIsVolunteerVerified()) {
             throw new Exception("Only verified volunteers can organize blood donation camps");
@@ -46,36 +68,65 @@ public class BloodDonationCampService {
         camp.setUpdatedAt(LocalDateTime.now());
         camp.setIsActive(true);
         camp.setCurrentDonors(0);
+        camp.setFlashRegistration(Boolean.TRUE.equals(camp.getFlashRegistration()));
 
-        return campRepository.save(camp);
+        BloodDonationCamp savedCamp = campRepository.save(camp);
+        campCalendarIndex.index(savedCamp);
+        campSearchIndex.index(savedCamp);
+        return savedCamp;
     }
 
     public BloodDonationCamp getCampById(Long campId) {
-        Optional<BloodDonationCamp> camp = campRepository.findById(campId);
-        return camp.orElse(null);
+        return campCache.get(campId, id -> {
+            Optional<BloodDonationCamp> camp = campRepository.findById(id);
+            return camp.orElse(null);
+        });
+    }
+
+    /**
+     * Drop a camp from the cache after its row changed outside this service (e.g. registration counters)
+     */
+    public void evictCamp(Long campId) {
+        campCache.evict(campId);
+    }
+
+    /**
+     * Hit/miss counters of the camp cache for monitoring
+     */
+    public Map<String, Object> getCampCacheStatistics() {
+        return campCache.getStatistics();
+    }
+
+    /**
+     * Call when a volunteer's verification changes so cached organizer state is refreshed
+     */
+    public void onVolunteerVerificationChanged(Long volunteerId) {
+        campCache.evictCampsOrganizedBy(volunteerId);
     }
 
+    /**
+     * Call when a volunteer's name changes so camp search by organizer name finds the new name
+     */
+    public void onOrganizerNameChanged(User volunteer) {
+        campCache.evictCampsOrganizedBy(volunteer.getId());
+        campSearchIndex.reindexOrganizer(volunteer.getId(), volunteer.getFirstName(), volunteer.getLastName());
+    }
+
+    // Unpaged listings return at most one full page; use the *Page methods to walk further
     public List<BloodDonationCamp> getCampsByVolunteer(Long volunteerId) {
-        return campRepository.findByOrganizedByIdAndIsActiveOrderByCampDateDesc(volunteerId, true);
+        return campRepository.findByOrganizedByIdAndIsActiveOrderByCampDateDesc(volunteerId, true, Limit.of(MAX_PAGE_SIZE));
     }
 
     public List<BloodDonationCamp> getAllActiveCamps() {
-        return campRepository.findByIsActiveOrderByCampDateDesc(true);
+        return campRepository.findByIsActiveOrderByCampDateDesc(true, Limit.of(MAX_PAGE_SIZE));
     }
 
     public List<BloodDonationCamp> getUpcomingCamps() {
-        return campRepository.findByCampDateAfterAndIsActiveOrderByCampDate(LocalDate.now(), true);
+        return campRepository.findByCampDateAfterAndIsActiveOrderByCampDate(LocalDate.now(), true, Limit.of(MAX_PAGE_SIZE));
     }
 
     public List<BloodDonationCamp> getTodaysCamps() {
-        List<BloodDonationCamp> allActiveCamps = getAllActiveCamps();
-        return allActiveCamps.stream()
-                .filter(camp -> camp.getCampDate() != null && camp.getCampDate().equals(LocalDate.now()))
-                .sorted((c1, c2) -> {
-                    if (c1.getStartTime() == null || c2.getStartTime() == null) return 0;
-                    return c1.getStartTime().compareTo(c2.getStartTime());
-                })
-                .collect(Collectors.toList());
+        return loadCampsInOrder(campCalendarIndex.getCampIdsOn(LocalDate.now()));
     }
 
     public BloodDonationCamp updateCamp(Long campId, BloodDonationCamp updatedCamp, User volunteer) throws Exception {
@@ -101,9 +152,37 @@ public class BloodDonationCampService {
         existingCamp.setStartTime(updatedCamp.getStartTime());
         existingCamp.setEndTime(updatedCamp.getEndTime());
         existingCamp.setMaxDonors(updatedCamp.getMaxDonors());
+        // Callers that do not carry the flag (null) keep the camp's current mode
+        if (updatedCamp.getFlashRegistration() != null) {
+            existingCamp.setFlashRegistration(updatedCamp.getFlashRegistration());
+        }
         existingCamp.setUpdatedAt(LocalDateTime.now());
 
-        return campRepository.save(existingCamp);
+        BloodDonationCamp savedCamp = campRepository.save(existingCamp);
+        campCache.evict(campId);
+        campSeatLedger.forget(campId);
+        campCalendarIndex.index(savedCamp);
+        campSearchIndex.index(savedCamp);
+        return savedCamp;
+    }
+
+    /**
+     * Turn flash registration on or off for a camp organized by the given volunteer
+     */
+    public BloodDonationCamp setFlashRegistration(Long campId, boolean enabled, User volunteer) throws Exception {
+        BloodDonationCamp camp = campRepository.findById(campId)
+                .orElseThrow(() -> new Exception("Camp not found"));
+
+        if (!camp.getOrganizedBy().getId().equals(volunteer.getId())) {
+            throw new Exception("You can only update camps organized by you");
+        }
+
+        camp.setFlashRegistration(enabled);
+        camp.setUpdatedAt(LocalDateTime.now());
+        BloodDonationCamp savedCamp = campRepository.save(camp);
+        campCache.evict(campId);
+        campSeatLedger.forget(campId);
+        return savedCamp;
     }
 
     public boolean deleteCamp(Long campId, User volunteer) throws Exception {
@@ -117,6 +196,9 @@ public class BloodDonationCampService {
         camp.setIsActive(false);
         camp.setUpdatedAt(LocalDateTime.now());
         campRepository.save(camp);
+        campCache.evict(campId);
+        campCalendarIndex.remove(campId);
+        campSearchIndex.remove(campId);
 
         return true;
     }
@@ -152,21 +234,9 @@ public class BloodDonationCampService {
      * Get camps that any verified volunteer can manage attendance for
      */
     public List<BloodDonationCamp> getAttendanceEligibleCamps() {
-        List<BloodDonationCamp> allActiveCamps = getAllActiveCamps();
-        return allActiveCamps.stream()
-                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified() &&
-                        (camp.getCampDate().isAfter(LocalDate.now()) ||
-                                camp.getCampDate().equals(LocalDate.now())))
-                .sorted((c1, c2) -> {
-                    // Sort by date (today's first), then by start time
-                    if (c1.getCampDate().equals(LocalDate.now()) && !c2.getCampDate().equals(LocalDate.now())) {
-                        return -1;
-                    } else if (!c1.getCampDate().equals(LocalDate.now()) && c2.getCampDate().equals(LocalDate.now())) {
-                        return 1;
-                    } else {
-                        return c1.getCampDate().compareTo(c2.getCampDate());
-                    }
-                })
+        // Calendar order is already today first, then by date and start time
+        return loadCampsInOrder(firstPageOf(campCalendarIndex.getCampIdsFrom(LocalDate.now()))).stream()
+                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
                 .collect(Collectors.toList());
     }
 
@@ -174,13 +244,8 @@ public class BloodDonationCampService {
      * Get today's camps for quick attendance access
      */
     public List<BloodDonationCamp> getTodaysVerifiedCamps() {
-        List<BloodDonationCamp> todaysCamps = getTodaysCamps();
-        return todaysCamps.stream()
+        return getTodaysCamps().stream()
                 .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
-                .sorted((c1, c2) -> {
-                    if (c1.getStartTime() == null || c2.getStartTime() == null) return 0;
-                    return c1.getStartTime().compareTo(c2.getStartTime());
-                })
                 .collect(Collectors.toList());
     }
 
@@ -188,17 +253,13 @@ public class BloodDonationCampService {
      * Search camps by name for attendance management
      */
     public List<BloodDonationCamp> searchCampsForAttendance(String searchQuery) {
-        List<BloodDonationCamp> eligibleCamps = getAttendanceEligibleCamps();
         if (searchQuery == null || searchQuery.trim().isEmpty()) {
-            return eligibleCamps;
+            return getAttendanceEligibleCamps();
         }
 
-        String searchTerm = searchQuery.toLowerCase().trim();
-        return eligibleCamps.stream()
-                .filter(camp -> camp.getCampName().toLowerCase().contains(searchTerm) ||
-                        camp.getLocation().toLowerCase().contains(searchTerm) ||
-                        camp.getOrganizedBy().getFirstName().toLowerCase().contains(searchTerm) ||
-                        camp.getOrganizedBy().getLastName().toLowerCase().contains(searchTerm))
+        List<Long> campIds = campSearchIndex.search(searchQuery, true, null, null, LocalDate.now());
+        return loadCampsInOrder(firstPageOf(campIds)).stream()
+                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
                 .collect(Collectors.toList());
     }
 
@@ -229,47 +290,76 @@ public class BloodDonationCampService {
                 return campDetails;
             }
 
-            campDetails.put("camp", camp);
+            return buildCampDetails(camp, getActivityCounts(List.of(camp)).get(campId));
 
-            // Get registration statistics
-            long registeredCount = campRegistrationRepository.countActiveRegistrationsByCampId(campId);
-            campDetails.put("registeredCount", registeredCount);
+        } catch (Exception e) {
+            return campDetails;
+        }
+    }
 
-            // Calculate attendance rate
-            double attendanceRate = registeredCount > 0 ? (camp.getCurrentDonors() * 100.0) / registeredCount : 0;
-            campDetails.put("attendanceRate", Math.round(attendanceRate * 100.0) / 100.0);
+    /**
+     * Build the attendance details map for a camp from its pre-computed counters
+     */
+    private Map<String, Object> buildCampDetails(BloodDonationCamp camp, CampActivityCounts counts) {
+        Map<String, Object> campDetails = new HashMap<>();
+        campDetails.put("camp", camp);
 
-            // Get available slots
-            int availableSlots = camp.getMaxDonors() - (int) registeredCount;
-            campDetails.put("availableSlots", Math.max(0, availableSlots));
+        // Get registration statistics
+        long registeredCount = counts.getRegisteredCount();
+        campDetails.put("registeredCount", registeredCount);
+        campDetails.put("attendedCount", counts.getAttendedCount());
+        campDetails.put("donatedCount", counts.getDonatedCount());
 
-            // Camp status
-            String status;
-            if (camp.getCampDate().isBefore(LocalDate.now())) {
-                status = "COMPLETED";
-            } else if (camp.getCampDate().equals(LocalDate.now())) {
-                status = "TODAY";
-            } else {
-                status = "UPCOMING";
-            }
-            campDetails.put("status", status);
-
-            // Urgency level
-            String urgency = "LOW";
-            if (camp.getCampDate().equals(LocalDate.now())) {
-                if (attendanceRate < 30) {
-                    urgency = "HIGH";
-                } else if (attendanceRate < 60) {
-                    urgency = "MEDIUM";
-                }
+        // Calculate attendance rate
+        double attendanceRate = registeredCount > 0 ? (camp.getCurrentDonors() * 100.0) / registeredCount : 0;
+        campDetails.put("attendanceRate", Math.round(attendanceRate * 100.0) / 100.0);
+
+        // Get available slots
+        int availableSlots = camp.getMaxDonors() - (int) registeredCount;
+        campDetails.put("availableSlots", Math.max(0, availableSlots));
+
+        // Camp status
+        String status;
+        if (camp.getCampDate().isBefore(LocalDate.now())) {
+            status = "COMPLETED";
+        } else if (camp.getCampDate().equals(LocalDate.now())) {
+            status = "TODAY";
+        } else {
+            status = "UPCOMING";
+        }
+        campDetails.put("status", status);
+
+        // Urgency level
+        String urgency = "LOW";
+        if (camp.getCampDate().equals(LocalDate.now())) {
+            if (attendanceRate < 30) {
+                urgency = "HIGH";
+            } else if (attendanceRate < 60) {
+                urgency = "MEDIUM";
             }
-            campDetails.put("urgency", urgency);
+        }
+        campDetails.put("urgency", urgency);
 
-            return campDetails;
+        return campDetails;
+    }
 
-        } catch (Exception e) {
-            return campDetails;
+    /**
+     * Registration/attendance/donation counters for a list of camps in one query
+     */
+    private Map<Long, CampActivityCounts> getActivityCounts(List<BloodDonationCamp> camps) {
+        Map<Long, CampActivityCounts> countsByCampId = new HashMap<>();
+        if (camps.isEmpty()) {
+            return countsByCampId;
         }
+
+        List<Long> campIds = camps.stream().map(BloodDonationCamp::getId).collect(Collectors.toList());
+        for (CampActivityCounts counts : campRepository.findActivityCountsByCampIds(campIds)) {
+            countsByCampId.put(counts.getCampId(), counts);
+        }
+        for (Long campId : campIds) {
+            countsByCampId.putIfAbsent(campId, CampActivityCounts.empty(campId));
+        }
+        return countsByCampId;
     }
 
     /**
@@ -277,10 +367,11 @@ public class BloodDonationCampService {
      */
     public List<Map<String, Object>> getCampsWithStatistics() {
         List<BloodDonationCamp> eligibleCamps = getAttendanceEligibleCamps();
+        Map<Long, CampActivityCounts> countsByCampId = getActivityCounts(eligibleCamps);
         List<Map<String, Object>> campsWithStats = new ArrayList<>();
 
         for (BloodDonationCamp camp : eligibleCamps) {
-            Map<String, Object> campStats = getCampDetailsForAttendance(camp.getId());
+            Map<String, Object> campStats = buildCampDetails(camp, countsByCampId.get(camp.getId()));
             campsWithStats.add(campStats);
         }
 
@@ -292,10 +383,11 @@ public class BloodDonationCampService {
      */
     public List<Map<String, Object>> getUrgentCamps() {
         List<BloodDonationCamp> todaysCamps = getTodaysVerifiedCamps();
+        Map<Long, CampActivityCounts> countsByCampId = getActivityCounts(todaysCamps);
         List<Map<String, Object>> urgentCamps = new ArrayList<>();
 
         for (BloodDonationCamp camp : todaysCamps) {
-            Map<String, Object> campDetails = getCampDetailsForAttendance(camp.getId());
+            Map<String, Object> campDetails = buildCampDetails(camp, countsByCampId.get(camp.getId()));
             double attendanceRate = (double) campDetails.get("attendanceRate");
             long registeredCount = (long) campDetails.get("registeredCount");
 
@@ -321,21 +413,13 @@ public class BloodDonationCampService {
      */
     public Map<String, Object> getCampStatisticsSummary() {
         Map<String, Object> summary = new HashMap<>();
-        List<BloodDonationCamp> allVerifiedCamps = getAllActiveVerifiedCamps();
-
-        int totalCamps = allVerifiedCamps.size();
-        int todaysCamps = (int) allVerifiedCamps.stream()
-                .filter(camp -> camp.getCampDate().equals(LocalDate.now()))
-                .count();
-        int upcomingCamps = (int) allVerifiedCamps.stream()
-                .filter(camp -> camp.getCampDate().isAfter(LocalDate.now()))
-                .count();
-        int totalCapacity = allVerifiedCamps.stream()
-                .mapToInt(camp -> camp.getMaxDonors() != null ? camp.getMaxDonors() : 0)
-                .sum();
-        int totalRegistered = allVerifiedCamps.stream()
-                .mapToInt(camp -> camp.getCurrentDonors() != null ? camp.getCurrentDonors() : 0)
-                .sum();
+        CampScheduleTotals totals = campRepository.getActiveVerifiedCampScheduleTotals(LocalDate.now());
+
+        int totalCamps = (int) totals.getTotalCamps();
+        int todaysCamps = (int) totals.getTodaysCamps();
+        int upcomingCamps = (int) totals.getUpcomingCamps();
+        int totalCapacity = (int) totals.getTotalCapacity();
+        int totalRegistered = (int) totals.getTotalRegistered();
 
         summary.put("totalCamps", totalCamps);
         summary.put("todaysCamps", todaysCamps);
@@ -357,10 +441,11 @@ public class BloodDonationCampService {
      */
     public List<Map<String, Object>> getCampsNeedingAttention() {
         List<BloodDonationCamp> todaysCamps = getTodaysVerifiedCamps();
+        Map<Long, CampActivityCounts> countsByCampId = getActivityCounts(todaysCamps);
         List<Map<String, Object>> attentionCamps = new ArrayList<>();
 
         for (BloodDonationCamp camp : todaysCamps) {
-            Map<String, Object> campDetails = getCampDetailsForAttendance(camp.getId());
+            Map<String, Object> campDetails = buildCampDetails(camp, countsByCampId.get(camp.getId()));
             double attendanceRate = (double) campDetails.get("attendanceRate");
             long registeredCount = (long) campDetails.get("registeredCount");
 
@@ -386,14 +471,18 @@ public class BloodDonationCampService {
      */
     public List<Map<String, Object>> getVolunteerCampsWithStats(Long volunteerId) {
         List<BloodDonationCamp> volunteerCamps = getCampsByVolunteer(volunteerId);
+        Map<Long, CampActivityCounts> countsByCampId = getActivityCounts(volunteerCamps);
         List<Map<String, Object>> campsWithStats = new ArrayList<>();
 
         for (BloodDonationCamp camp : volunteerCamps) {
             Map<String, Object> campStats = new HashMap<>();
             campStats.put("camp", camp);
 
-            long registeredCount = campRegistrationRepository.countActiveRegistrationsByCampId(camp.getId());
+            CampActivityCounts counts = countsByCampId.get(camp.getId());
+            long registeredCount = counts.getRegisteredCount();
             campStats.put("registeredCount", registeredCount);
+            campStats.put("attendedCount", counts.getAttendedCount());
+            campStats.put("donatedCount", counts.getDonatedCount());
             campStats.put("attendanceRate", registeredCount > 0 ? (camp.getCurrentDonors() * 100.0) / registeredCount : 0);
             campStats.put("availableSlots", Math.max(0, camp.getMaxDonors() - (int) registeredCount));
 
@@ -407,48 +496,16 @@ public class BloodDonationCampService {
      * Get camps by date range for reporting
      */
     public List<BloodDonationCamp> getCampsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return campRepository.findCampsByDateRange(startDate, endDate);
+        return campRepository.findCampsByDateRange(startDate, endDate, Limit.of(MAX_PAGE_SIZE));
     }
 
     /**
      * Search camps with enhanced filters
      */
     public List<BloodDonationCamp> searchCampsWithFilters(String searchQuery, String status, String organizer) {
-        List<BloodDonationCamp> allCamps = getAllActiveVerifiedCamps();
-
-        return allCamps.stream()
-                .filter(camp -> {
-                    // Search filter
-                    if (searchQuery != null && !searchQuery.trim().isEmpty()) {
-                        String searchTerm = searchQuery.toLowerCase().trim();
-                        boolean matchesSearch = camp.getCampName().toLowerCase().contains(searchTerm) ||
-                                camp.getLocation().toLowerCase().contains(searchTerm);
-                        if (!matchesSearch) return false;
-                    }
-
-                    // Status filter
-                    if (status != null && !status.isEmpty()) {
-                        switch (status) {
-                            case "today":
-                                if (!camp.getCampDate().equals(LocalDate.now())) return false;
-                                break;
-                            case "upcoming":
-                                if (!camp.getCampDate().isAfter(LocalDate.now())) return false;
-                                break;
-                            case "completed":
-                                if (!camp.getCampDate().isBefore(LocalDate.now())) return false;
-                                break;
-                        }
-                    }
-
-                    // Organizer filter
-                    if (organizer != null && !organizer.isEmpty()) {
-                        String organizerName = camp.getOrganizedBy().getFirstName() + " " + camp.getOrganizedBy().getLastName();
-                        if (!organizerName.toLowerCase().contains(organizer.toLowerCase())) return false;
-                    }
-
-                    return true;
-                })
+        List<Long> campIds = campSearchIndex.search(searchQuery, false, status, organizer, null);
+        return loadCampsInOrder(firstPageOf(campIds)).stream()
+                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
                 .collect(Collectors.toList());
     }
 
@@ -484,6 +541,157 @@ public class BloodDonationCampService {
         return (int) Math.min(100, Math.max(0, score));
     }
 
+    // =============================================
+    // CAMP LISTING READ MODEL
+    // =============================================
+
+    /**
+     * Upcoming camps (today onwards) of verified organizers as lightweight listing rows, first page only
+     */
+    public List<CampSummary> getAttendanceEligibleCampSummaries() {
+        return loadCampSummariesInOrder(firstPageOf(campCalendarIndex.getCampIdsFrom(LocalDate.now()))).stream()
+                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A volunteer's active camps as lightweight listing rows, first page only
+     */
+    public List<CampSummary> getVolunteerCampSummaries(Long volunteerId) {
+        return getVolunteerCampPage(volunteerId, null, MAX_PAGE_SIZE).getCamps();
+    }
+
+    /**
+     * Search attendance-eligible camps by camp name, location or organizer name, as listing rows
+     */
+    public List<CampSummary> searchCampSummariesForAttendance(String searchQuery) {
+        if (searchQuery == null || searchQuery.trim().isEmpty()) {
+            return getAttendanceEligibleCampSummaries();
+        }
+
+        List<Long> campIds = campSearchIndex.search(searchQuery, true, null, null, LocalDate.now());
+        return loadCampSummariesInOrder(firstPageOf(campIds)).stream()
+                .filter(camp -> camp.getOrganizedBy().getIsVolunteerVerified())
+                .collect(Collectors.toList());
+    }
+
+    // Same as loadCampsInOrder but for listing rows; inactive camps are filtered by the query
+    private List<CampSummary> loadCampSummariesInOrder(List<Long> campIds) {
+        if (campIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, CampSummary> summariesById = new HashMap<>();
+        for (CampSummary summary : campRepository.findActiveCampSummariesByIdIn(campIds)) {
+            summariesById.put(summary.getId(), summary);
+        }
+
+        List<CampSummary> orderedSummaries = new ArrayList<>(campIds.size());
+        for (Long campId : campIds) {
+            CampSummary summary = summariesById.get(campId);
+            if (summary != null) {
+                orderedSummaries.add(summary);
+            }
+        }
+        return orderedSummaries;
+    }
+
+    // =============================================
+    // KEYSET-PAGINATED LISTINGS
+    // =============================================
+
+    /**
+     * Upcoming camps (today onwards) of verified organizers, soonest first, one page at a time.
+     * Pass the previous page's nextCursor as after, or its prevCursor as before.
+     */
+    public CampPage getUpcomingCampPage(String after, String before, int pageSize) {
+        LocalDate today = LocalDate.now();
+        int size = clampPageSize(pageSize);
+
+        CampCursor beforePosition = CampCursor.parse(before);
+        if (beforePosition != null) {
+            return toPreviousPage(campRepository.findUpcomingVerifiedCampSummariesPageBefore(today,
+                    beforePosition.getCampDate(), beforePosition.getStartTime(), beforePosition.getId(),
+                    Limit.of(size + 1)), size);
+        }
+
+        CampCursor afterPosition = CampCursor.parse(after);
+        CampCursor position = Optional.ofNullable(afterPosition).orElse(CampCursor.startOf(today));
+        return toPage(campRepository.findUpcomingVerifiedCampSummariesPage(
+                position.getCampDate(), position.getStartTime(), position.getId(), Limit.of(size + 1)),
+                size, afterPosition != null);
+    }
+
+    /**
+     * Camps a donor can browse, one page at a time
+     */
+    public CampPage getAvailableCampPageForDonor(User donor, String after, String before, int pageSize) {
+        if (!"DONOR".equals(donor.getUser_type()) || !donor.getIsVerified()) {
+            return new CampPage(new ArrayList<>(), null, null);
+        }
+        return getUpcomingCampPage(after, before, pageSize);
+    }
+
+    /**
+     * All active camps, newest first, one page at a time
+     */
+    public CampPage getActiveCampPage(String after, int pageSize) {
+        int size = clampPageSize(pageSize);
+        CampCursor afterPosition = CampCursor.parse(after);
+        CampCursor position = Optional.ofNullable(afterPosition).orElse(CampCursor.end());
+        return toPage(campRepository.findActiveCampSummariesPage(
+                position.getCampDate(), position.getStartTime(), position.getId(), Limit.of(size + 1)),
+                size, afterPosition != null);
+    }
+
+    /**
+     * A volunteer's active camps, newest first, one page at a time
+     */
+    public CampPage getVolunteerCampPage(Long volunteerId, String after, int pageSize) {
+        int size = clampPageSize(pageSize);
+        CampCursor afterPosition = CampCursor.parse(after);
+        CampCursor position = Optional.ofNullable(afterPosition).orElse(CampCursor.end());
+        return toPage(campRepository.findActiveCampSummariesByVolunteerPage(volunteerId,
+                position.getCampDate(), position.getStartTime(), position.getId(), Limit.of(size + 1)),
+                size, afterPosition != null);
+    }
+
+    /**
+     * Active camps between two dates (inclusive), earliest first, one page at a time
+     */
+    public CampPage getCampPageByDateRange(LocalDate startDate, LocalDate endDate, String after, int pageSize) {
+        int size = clampPageSize(pageSize);
+        CampCursor afterPosition = CampCursor.parse(after);
+        CampCursor position = Optional.ofNullable(afterPosition).orElse(CampCursor.startOf(startDate));
+        return toPage(campRepository.findCampSummariesByDateRangePage(endDate,
+                position.getCampDate(), position.getStartTime(), position.getId(), Limit.of(size + 1)),
+                size, afterPosition != null);
+    }
+
+    public int clampPageSize(int pageSize) {
+        if (pageSize <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    // Rows were fetched in listing order with one extra to tell whether another page exists
+    private CampPage toPage(List<CampSummary> rows, int pageSize, boolean hasPrevious) {
+        List<CampSummary> camps = rows.size() > pageSize ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = rows.size() > pageSize ? CampCursor.of(camps.get(pageSize - 1)).encode() : null;
+        String prevCursor = hasPrevious && !camps.isEmpty() ? CampCursor.of(camps.get(0)).encode() : null;
+        return new CampPage(camps, nextCursor, prevCursor);
+    }
+
+    // Rows were fetched in reverse listing order, with one extra to tell whether an earlier page exists
+    private CampPage toPreviousPage(List<CampSummary> rows, int pageSize) {
+        List<CampSummary> camps = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageSize)));
+        Collections.reverse(camps);
+        if (camps.isEmpty()) {
+            return new CampPage(camps, null, null);
+        }
+        String prevCursor = rows.size() > pageSize ? CampCursor.of(camps.get(0)).encode() : null;
+        return new CampPage(camps, CampCursor.of(camps.get(camps.size() - 1)).encode(), prevCursor);
+    }
+
     // =============================================
     // REGISTRATION AND DONOR VERIFICATION METHODS
     // =============================================
@@ -515,23 +723,6 @@ public class BloodDonationCampService {
         }
     }
 
-    public List<BloodDonationCamp> getAvailableCampsForDonor(User donor) {
-        if (!"DONOR".equals(donor.getUser_type()) || !donor.getIsVerified()) {
-            return new ArrayList<>();
-        }
-
-        List<BloodDonationCamp> allActiveCamps = getAllActiveCamps();
-        return allActiveCamps.stream()
-                .filter(camp ->
-                        camp.getOrganizedBy().getIsVolunteerVerified() &&
-                                (camp.getCampDate().isAfter(LocalDate.now()) ||
-                                        camp.getCampDate().equals(LocalDate.now())) &&
-                                camp.getIsActive()
-                )
-                .sorted((c1, c2) -> c1.getCampDate().compareTo(c2.getCampDate()))
-                .collect(Collectors.toList());
-    }
-
     public List<BloodDonationCamp> getCampsByVerifiedVolunteers() {
         List<BloodDonationCamp> allActiveCamps = getAllActiveCamps();
         return allActiveCamps.stream()
@@ -604,12 +795,13 @@ public class BloodDonationCampService {
 
     public void updateCampCapacityAfterRegistration(Long campId) {
         try {
-            BloodDonationCamp camp = getCampById(campId);
+            BloodDonationCamp camp = campRepository.findById(campId).orElse(null);
             if (camp != null) {
                 long currentRegistrations = campRegistrationRepository.countActiveRegistrationsByCampId(campId);
                 camp.setCurrentDonors((int) currentRegistrations);
                 camp.setUpdatedAt(LocalDateTime.now());
                 campRepository.save(camp);
+                campCache.evict(campId);
             }
         } catch (Exception e) {
             System.err.println("Error updating camp capacity: " + e.getMessage());
@@ -652,44 +844,21 @@ public class BloodDonationCampService {
      * Get camp statistics for volunteer dashboard
      */
     public CampStatistics getCampStatistics(Long volunteerId) {
-        List<BloodDonationCamp> volunteerCamps = getCampsByVolunteer(volunteerId);
+        CampScheduleTotals totals = campRepository.getActiveCampScheduleTotalsByVolunteer(volunteerId, LocalDate.now());
 
-        int totalCamps = volunteerCamps.size();
-        int upcomingCamps = (int) volunteerCamps.stream()
-                .filter(camp -> camp.getCampDate().isAfter(LocalDate.now()) ||
-                        camp.getCampDate().equals(LocalDate.now()))
-                .count();
-        int totalCapacity = volunteerCamps.stream()
-                .mapToInt(camp -> camp.getMaxDonors() != null ? camp.getMaxDonors() : 0)
-                .sum();
-        int totalRegistered = volunteerCamps.stream()
-                .mapToInt(camp -> camp.getCurrentDonors() != null ? camp.getCurrentDonors() : 0)
-                .sum();
-
-        return new CampStatistics(totalCamps, upcomingCamps, totalCapacity, totalRegistered);
+        return new CampStatistics((int) totals.getTotalCamps(),
+                (int) (totals.getTodaysCamps() + totals.getUpcomingCamps()),
+                (int) totals.getTotalCapacity(), (int) totals.getTotalRegistered());
     }
 
     /**
      * Get global camp statistics for all verified camps
      */
     public GlobalCampStatistics getGlobalCampStatistics() {
-        List<BloodDonationCamp> allVerifiedCamps = getAllActiveVerifiedCamps();
-
-        int totalCamps = allVerifiedCamps.size();
-        int todaysCamps = (int) allVerifiedCamps.stream()
-                .filter(camp -> camp.getCampDate().equals(LocalDate.now()))
-                .count();
-        int upcomingCamps = (int) allVerifiedCamps.stream()
-                .filter(camp -> camp.getCampDate().isAfter(LocalDate.now()))
-                .count();
-        int totalCapacity = allVerifiedCamps.stream()
-                .mapToInt(camp -> camp.getMaxDonors() != null ? camp.getMaxDonors() : 0)
-                .sum();
-        int totalRegistered = allVerifiedCamps.stream()
-                .mapToInt(camp -> camp.getCurrentDonors() != null ? camp.getCurrentDonors() : 0)
-                .sum();
+        CampScheduleTotals totals = campRepository.getActiveVerifiedCampScheduleTotals(LocalDate.now());
 
-        return new GlobalCampStatistics(totalCamps, todaysCamps, upcomingCamps, totalCapacity, totalRegistered);
+        return new GlobalCampStatistics((int) totals.getTotalCamps(), (int) totals.getTodaysCamps(),
+                (int) totals.getUpcomingCamps(), (int) totals.getTotalCapacity(), (int) totals.getTotalRegistered());
     }
 
     /**
@@ -718,6 +887,34 @@ public class BloodDonationCampService {
         }
     }
 
+    // Caps an id list from the in-memory indexes to one full page before hydrating it
+    private List<Long> firstPageOf(List<Long> campIds) {
+        return campIds.size() > MAX_PAGE_SIZE ? campIds.subList(0, MAX_PAGE_SIZE) : campIds;
+    }
+
+    /**
+     * Load camps by id (with organizers) keeping the order of the given ids
+     */
+    private List<BloodDonationCamp> loadCampsInOrder(List<Long> campIds) {
+        if (campIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, BloodDonationCamp> campsById = new HashMap<>();
+        for (BloodDonationCamp camp : campRepository.findAllWithOrganizerByIdIn(campIds)) {
+            campsById.put(camp.getId(), camp);
+        }
+
+        List<BloodDonationCamp> orderedCamps = new ArrayList<>(campIds.size());
+        for (Long campId : campIds) {
+            BloodDonationCamp camp = campsById.get(campId);
+            if (camp != null && camp.getIsActive()) {
+                orderedCamps.add(camp);
+            }
+        }
+        return orderedCamps;
+    }
+
     // =============================================
     // INNER CLASSES
     // =============================================
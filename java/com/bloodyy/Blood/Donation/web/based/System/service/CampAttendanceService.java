@@ -1,13 +1,19 @@
 package com.bloodyy.Blood.Donation.web.based.System.service;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.AttendanceTotals;
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampTotals;
 import com.bloodyy.Blood.Donation.web.based.System.entity.*;
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
 import com.bloodyy.Blood.Donation.web.based.System.repository.CampAttendanceRepository;
 import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
-import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CampAttendanceService {
@@ -21,11 +27,23 @@ public class CampAttendanceService {
     @Autowired
     private BloodDonationCampService campService;
 
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
     @Autowired
     private UserService userService;
 
     @Autowired
-    private DonationRepository donationRepository;
+    private AttendanceJournal attendanceJournal;
+
+    @Autowired
+    private CampRosterNameIndex rosterNameIndex;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    @Autowired
+    private CampAttendanceWriter campAttendanceWriter;
 
     /**
      * Record attendance for a donor in any camp (any verified volunteer can do this)
@@ -47,6 +65,16 @@ public class CampAttendanceService {
             throw new Exception("Camp organizer is not verified");
         }
 
+        // Journal mode: checked against the cached roster, acknowledged once on local disk
+        if (attendanceJournal.isEnabled()) {
+            String refusal = rosterNameIndex.claimCheckIn(campId, donorId);
+            if (refusal != null) {
+                throw new Exception(refusal);
+            }
+            appendCheckIn(campId, donorId, volunteer);
+            return pendingAttendance(camp, donorId, volunteer, false, "");
+        }
+
         // Verify donor is registered for this camp
         if (!campRegistrationRepository.existsByCampIdAndDonorIdAndStatus(campId, donorId, "REGISTERED")) {
             throw new Exception("Donor is not registered for this camp");
@@ -72,57 +100,139 @@ public class CampAttendanceService {
         attendance.setBloodDonated(false);
         attendance.setNotes("");
 
-        return campAttendanceRepository.save(attendance);
+        // Another desk can insert between the check above and this save; the unique key decides
+        CampAttendance savedAttendance;
+        try {
+            savedAttendance = campAttendanceRepository.save(attendance);
+        } catch (DataIntegrityViolationException e) {
+            throw new Exception("Attendance already recorded for this donor");
+        }
+        rosterNameIndex.onAttendanceRecorded(campId, donorId);
+        campLiveFeed.publish(campId, 1, 0, 0);
+        return savedAttendance;
     }
 
     /**
-     * Mark blood donation for any attendee and create donation record
+     * Record attendance for a burst of scanned donors (attendance desk).
+     * In journal mode each donor is appended to the journal; otherwise CampAttendanceWriter
+     * writes the batch in one transaction. This entry point is not transactional, so the
+     * journal path never borrows a connection. Outcomes come back in scan order.
      */
-    public CampAttendance markBloodDonation(Long campId, Long donorId, User volunteer, String notes) throws Exception {
+    public List<AttendanceOutcome> recordAttendance(Long campId, List<Long> donorIds, User volunteer) throws Exception {
         // Verify volunteer is verified
         if (!"VOLUNTEER".equals(volunteer.getUser_type()) || !volunteer.getIsVolunteerVerified()) {
-            throw new Exception("Only verified volunteers can record blood donations");
+            throw new Exception("Only verified volunteers can record attendance");
         }
 
-        // Get attendance record
-        CampAttendance attendance = campAttendanceRepository.findByCampIdAndDonorId(campId, donorId)
-                .orElseThrow(() -> new Exception("Attendance record not found"));
+        // Verify camp exists and has verified organizer
+        BloodDonationCamp camp = campService.getCampById(campId);
+        if (camp == null) {
+            throw new Exception("Camp not found");
+        }
 
-        // ANY verified volunteer can mark blood donation (removed ownership check)
-        BloodDonationCamp camp = attendance.getCamp();
         if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
             throw new Exception("Camp organizer is not verified");
         }
 
-        // Update blood donation status
-        attendance.setBloodDonated(true);
-        attendance.setNotes(notes != null ? notes : "");
-
-        // Create donation record for 6-month restriction
-        createDonationRecord(donorId, camp, volunteer);
+        List<AttendanceOutcome> outcomes = new ArrayList<>();
+        Set<Long> distinctIds = new LinkedHashSet<>(donorIds);
+        if (distinctIds.isEmpty()) return outcomes;
+
+        // Journal mode: same path as a single scan, one entry per donor
+        if (attendanceJournal.isEnabled()) {
+            for (Long donorId : donorIds) {
+                String refusal = rosterNameIndex.claimCheckIn(campId, donorId);
+                if (refusal != null) {
+                    outcomes.add(new AttendanceOutcome(donorId, false, refusal));
+                    continue;
+                }
+                appendCheckIn(campId, donorId, volunteer);
+                outcomes.add(new AttendanceOutcome(donorId, true, "Attendance recorded"));
+            }
+            return outcomes;
+        }
 
-        return campAttendanceRepository.save(attendance);
+        return campAttendanceWriter.recordAttendance(campId, donorIds, volunteer);
     }
 
     /**
-     * Create a donation record when blood donation is marked
+     * Mark blood donation for any attendee. The donation record is written by OutboxPump
+     * from an event committed together with the attendance update (see CampAttendanceWriter).
      */
-    private void createDonationRecord(Long donorId, BloodDonationCamp camp, User volunteer) {
+    public CampAttendance markBloodDonation(Long campId, Long donorId, User volunteer, String notes) throws Exception {
+        // Verify volunteer is verified
+        if (!"VOLUNTEER".equals(volunteer.getUser_type()) || !volunteer.getIsVolunteerVerified()) {
+            throw new Exception("Only verified volunteers can record blood donations");
+        }
+
+        if (attendanceJournal.isEnabled()) {
+            BloodDonationCamp camp = campService.getCampById(campId);
+            if (camp == null) {
+                throw new Exception("Camp not found");
+            }
+            if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
+                throw new Exception("Camp organizer is not verified");
+            }
+
+            CampRosterNameIndex.RosterEntry entry = rosterNameIndex.find(campId, donorId);
+            if (entry == null || !entry.isAttended()) {
+                throw new Exception("Attendance record not found");
+            }
+
+            String donationNotes = notes != null ? notes : "";
+            attendanceJournal.append(AttendanceJournal.BLOOD_DONATION, campId, donorId, volunteer.getId(), donationNotes);
+            rosterNameIndex.onBloodDonated(campId, donorId);
+            return pendingAttendance(camp, donorId, volunteer, true, donationNotes);
+        }
+
+        return campAttendanceWriter.markBloodDonation(campId, donorId, volunteer, notes);
+    }
+
+    // Append a claimed check-in; the claim is given back if the journal refuses it
+    private void appendCheckIn(Long campId, Long donorId, User volunteer) throws Exception {
         try {
-            Donation donation = new Donation();
-            donation.setUser(userService.getUserById(donorId));
-            donation.setDonationDate(java.time.LocalDate.now());
-            donation.setCamp(camp);
-            donation.setIsCampDonation(true);
-            donation.setRecordedByVolunteerId(volunteer.getId());
-
-            donationRepository.save(donation);
+            attendanceJournal.append(AttendanceJournal.CHECK_IN, campId, donorId, volunteer.getId(), "");
         } catch (Exception e) {
-            System.err.println("Error creating donation record: " + e.getMessage());
-            // Don't fail the attendance marking if donation record creation fails
+            rosterNameIndex.releaseCheckIn(campId, donorId);
+            throw e;
         }
     }
 
+    /**
+     * Check-ins and donation marks from the journal that the database turned down for a camp
+     */
+    public List<AttendanceJournal.RejectedEntry> getRejectedJournalEntries(Long campId, User volunteer) throws Exception {
+        if (!"VOLUNTEER".equals(volunteer.getUser_type()) || !volunteer.getIsVolunteerVerified()) {
+            throw new Exception("Only verified volunteers can view attendance");
+        }
+
+        List<AttendanceJournal.RejectedEntry> rejected = new ArrayList<>();
+        for (AttendanceJournal.RejectedEntry entry : attendanceJournal.getRejectedEntries()) {
+            if (campId.equals(entry.getEntry().getCampId())) {
+                rejected.add(entry);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Attendance acknowledged from the journal but not yet written to camp_attendance
+     */
+    private CampAttendance pendingAttendance(BloodDonationCamp camp, Long donorId, User volunteer,
+                                             boolean bloodDonated, String notes) {
+        User donor = new User();
+        donor.setId(donorId);
+
+        CampAttendance attendance = new CampAttendance();
+        attendance.setCamp(camp);
+        attendance.setDonor(donor);
+        attendance.setRecordedBy(volunteer);
+        attendance.setAttendedAt(LocalDateTime.now());
+        attendance.setBloodDonated(bloodDonated);
+        attendance.setNotes(notes);
+        return attendance;
+    }
+
     /**
      * Get camp attendees (any verified volunteer can view)
      */
@@ -171,6 +281,22 @@ public class CampAttendanceService {
         return campAttendanceRepository.searchAttendeesByName(campId, searchQuery.trim());
     }
 
+    /**
+     * Type-ahead over a camp's roster for the check-in desk (verified volunteers only)
+     */
+    public List<CampRosterNameIndex.RosterEntry> typeAhead(Long campId, String query, int limit, User volunteer) throws Exception {
+        if (!"VOLUNTEER".equals(volunteer.getUser_type()) || !volunteer.getIsVolunteerVerified()) {
+            throw new Exception("Only verified volunteers can search attendance");
+        }
+
+        BloodDonationCamp camp = campService.getCampById(campId);
+        if (camp == null) {
+            throw new Exception("Camp not found");
+        }
+
+        return rosterNameIndex.search(campId, query, limit, entry -> true);
+    }
+
     /**
      * Get attendee details (any verified volunteer can view)
      */
@@ -213,13 +339,12 @@ public class CampAttendanceService {
             throw new Exception("Camp organizer is not verified");
         }
 
-        List<CampAttendance> attendees = campAttendanceRepository.findByCampIdOrderByAttendedAtDesc(campId);
-        long bloodDonations = campAttendanceRepository.countBloodDonationsByCamp(campId);
-        long totalAttendees = campAttendanceRepository.countByCampId(campId);
+        // One conditional-count query; registered donors come from the (cached) camp counter
+        AttendanceTotals totals = campAttendanceRepository.getCampAttendanceTotals(campId);
 
         return new CampStatistics(
-                (int) totalAttendees,
-                (int) bloodDonations,
+                (int) totals.getTotalAttendees(),
+                (int) totals.getTotalBloodDonations(),
                 camp.getMaxDonors() != null ? camp.getMaxDonors() : 0,
                 camp.getCurrentDonors() != null ? camp.getCurrentDonors() : 0
         );
@@ -233,24 +358,15 @@ public class CampAttendanceService {
             throw new Exception("Only verified volunteers can view global statistics");
         }
 
-        List<BloodDonationCamp> allVerifiedCamps = campService.getAllActiveVerifiedCamps();
-
-        int totalCamps = allVerifiedCamps.size();
-        int totalAttendees = 0;
-        int totalBloodDonations = 0;
-        int totalRegisteredDonors = 0;
-
-        for (BloodDonationCamp camp : allVerifiedCamps) {
-            totalAttendees += campAttendanceRepository.countByCampId(camp.getId());
-            totalBloodDonations += campAttendanceRepository.countBloodDonationsByCamp(camp.getId());
-            totalRegisteredDonors += camp.getCurrentDonors() != null ? camp.getCurrentDonors() : 0;
-        }
+        // Two aggregate queries regardless of how many camps exist
+        CampTotals campTotals = campRepository.getActiveVerifiedCampTotals();
+        AttendanceTotals attendanceTotals = campAttendanceRepository.getGlobalAttendanceTotals();
 
         return new GlobalAttendanceStatistics(
-                totalCamps,
-                totalAttendees,
-                totalBloodDonations,
-                totalRegisteredDonors
+                (int) campTotals.getTotalCamps(),
+                (int) attendanceTotals.getTotalAttendees(),
+                (int) attendanceTotals.getTotalBloodDonations(),
+                (int) campTotals.getTotalRegisteredDonors()
         );
     }
 
@@ -271,6 +387,22 @@ public class CampAttendanceService {
     }
 
     // INNER CLASSES
+    public static class AttendanceOutcome {
+        private final Long donorId;
+        private final boolean recorded;
+        private final String message;
+
+        public AttendanceOutcome(Long donorId, boolean recorded, String message) {
+            this.donorId = donorId;
+            this.recorded = recorded;
+            this.message = message;
+        }
+
+        public Long getDonorId() { return donorId; }
+        public boolean isRecorded() { return recorded; }
+        public String getMessage() { return message; }
+    }
+
     public static class CampStatistics {
         private final int totalAttendees;
         private final int bloodDonations;
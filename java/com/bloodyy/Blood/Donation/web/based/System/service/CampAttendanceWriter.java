@@ -0,0 +1,178 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.*;
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampAttendanceRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampAttendanceService.AttendanceOutcome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database side of CampAttendanceService's desk writes. CampAttendanceService validates and
+ * handles journal mode outside any transaction, then calls in here, so a connection is only
+ * borrowed when the write really goes to the database.
+ */
+@Component
+public class CampAttendanceWriter {
+
+    private static final String INSERT_ATTENDANCE =
+            "INSERT INTO camp_attendance (camp_id, donor_id, recorded_by, attended_at, blood_donated, notes) " +
+            "VALUES (?, ?, ?, ?, false, '')";
+
+    @Autowired
+    private CampAttendanceRepository campAttendanceRepository;
+
+    @Autowired
+    private CampRegistrationRepository campRegistrationRepository;
+
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CampRosterNameIndex rosterNameIndex;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    @Autowired
+    private OutboxPump outboxPump;
+
+    /**
+     * Record a validated burst of scans. The batch is checked against the roster and existing
+     * attendance with two set queries, then written with one JDBC batch. The camp row is locked
+     * for the duration, and the unique (camp_id, donor_id) key catches a single-scan insert that
+     * lands in between.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<AttendanceOutcome> recordAttendance(Long campId, List<Long> donorIds, User volunteer) throws Exception {
+        List<AttendanceOutcome> outcomes = new ArrayList<>();
+        Set<Long> distinctIds = new LinkedHashSet<>(donorIds);
+
+        // The cached camp can be stale; no locked row means it was deleted or deactivated
+        if (campRepository.lockActiveCampCapacities(Set.of(campId)).isEmpty()) {
+            throw new Exception("Camp not found or no longer active");
+        }
+
+        // donorId -> rejection reason for registered donors who are not verified donors (null when valid)
+        Map<Long, String> registered = new HashMap<>();
+        for (Object[] row : campRegistrationRepository.findRegisteredDonorsAmong(campId, distinctIds)) {
+            boolean validDonor = "DONOR".equals(row[1]) && Boolean.TRUE.equals(row[2]);
+            registered.put((Long) row[0], validDonor ? null : "Invalid or unverified donor");
+        }
+        Set<Long> alreadyRecorded = new HashSet<>(campAttendanceRepository.findRecordedDonorIds(campId, distinctIds));
+
+        Timestamp attendedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, Integer> outcomeIndex = new HashMap<>();
+        for (Long donorId : donorIds) {
+            if (!registered.containsKey(donorId)) {
+                outcomes.add(new AttendanceOutcome(donorId, false, "Donor is not registered for this camp"));
+            } else if (!alreadyRecorded.add(donorId)) {
+                outcomes.add(new AttendanceOutcome(donorId, false, "Attendance already recorded for this donor"));
+            } else if (registered.get(donorId) != null) {
+                outcomes.add(new AttendanceOutcome(donorId, false, registered.get(donorId)));
+            } else {
+                rows.add(new Object[]{campId, donorId, volunteer.getId(), attendedAt});
+                outcomeIndex.put(donorId, outcomes.size());
+                outcomes.add(new AttendanceOutcome(donorId, true, "Attendance recorded"));
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            List<Object[]> inserted = insertAttendanceRows(rows);
+            for (Object[] row : rows) {
+                if (!inserted.contains(row)) {
+                    Long donorId = (Long) row[1];
+                    outcomes.set(outcomeIndex.get(donorId),
+                            new AttendanceOutcome(donorId, false, "Attendance already recorded for this donor"));
+                }
+            }
+            for (Object[] row : inserted) {
+                rosterNameIndex.onAttendanceRecorded(campId, (Long) row[1]);
+            }
+            if (!inserted.isEmpty()) {
+                campLiveFeed.publish(campId, inserted.size(), 0, 0);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Mark blood donation on an existing attendance row and queue the donation record
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public CampAttendance markBloodDonation(Long campId, Long donorId, User volunteer, String notes) throws Exception {
+        // Get attendance record
+        CampAttendance attendance = campAttendanceRepository.findByCampIdAndDonorId(campId, donorId)
+                .orElseThrow(() -> new Exception("Attendance record not found"));
+
+        // ANY verified volunteer can mark blood donation (removed ownership check)
+        BloodDonationCamp camp = attendance.getCamp();
+        if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
+            throw new Exception("Camp organizer is not verified");
+        }
+
+        // Update blood donation status
+        boolean newlyDonated = !Boolean.TRUE.equals(attendance.getBloodDonated());
+        attendance.setBloodDonated(true);
+        attendance.setNotes(notes != null ? notes : "");
+
+        CampAttendance savedAttendance = campAttendanceRepository.save(attendance);
+
+        // Donation record (6-month restriction) follows from the outbox, retried until it succeeds
+        if (newlyDonated) {
+            outboxPump.enqueue(OutboxEvent.BLOOD_DONATION_RECORDED, campId, donorId, volunteer.getId(), LocalDate.now());
+        }
+        rosterNameIndex.onBloodDonated(campId, donorId);
+        campLiveFeed.publish(campId, 0, newlyDonated ? 1 : 0, 0);
+        return savedAttendance;
+    }
+
+    /**
+     * Batch insert attendance rows, returning the rows actually written. A duplicate key only fails
+     * its own statement (the driver keeps going and reports per-row counts); without counts the
+     * remaining rows are retried one at a time.
+     */
+    private List<Object[]> insertAttendanceRows(List<Object[]> rows) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ATTENDANCE, rows);
+            return rows;
+        } catch (DataIntegrityViolationException e) {
+            int[] counts = e.getCause() instanceof BatchUpdateException batchFailure
+                    ? batchFailure.getUpdateCounts() : new int[0];
+            List<Object[]> inserted = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (i < counts.length) {
+                    if (counts[i] != Statement.EXECUTE_FAILED) inserted.add(rows.get(i));
+                    continue;
+                }
+                try {
+                    jdbcTemplate.update(INSERT_ATTENDANCE, rows.get(i));
+                    inserted.add(rows.get(i));
+                } catch (DataIntegrityViolationException duplicate) {
+                    // Already recorded by another desk
+                }
+            }
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of camps (with their organizer) keyed by camp id.
+ * Entries expire after a TTL and are evicted explicitly whenever a camp,
+ * its registration counter or its organizer's verification changes.
+ * The cache keeps its own copy of each camp and hands out a fresh copy on every
+ * hit, so callers that modify the returned camp never change what others read.
+ */
+@Component
+public class CampCache {
+
+    @Value("${app.camp-cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.camp-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<Long, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    // Bumped by every eviction; a load that started before an eviction is not cached
+    private long generation = 0;
+
+    /**
+     * Cached camp, loading it with the given loader on a miss (missing camps are not cached)
+     */
+    public BloodDonationCamp get(Long campId, Function<Long, BloodDonationCamp> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            CacheEntry entry = entries.get(campId);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return copyOf(entry.camp);
+                }
+                entries.remove(campId);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        BloodDonationCamp camp = loader.apply(campId);
+        if (camp != null) {
+            put(copyOf(camp), now, loadGeneration);
+        }
+        return camp;
+    }
+
+    /**
+     * Drop a single camp
+     */
+    public void evict(Long campId) {
+        synchronized (entries) {
+            generation++;
+            if (entries.remove(campId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drop every cached camp organized by the given volunteer (e.g. after a verification change)
+     */
+    public void evictCampsOrganizedBy(Long volunteerId) {
+        synchronized (entries) {
+            generation++;
+            Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                BloodDonationCamp camp = iterator.next().camp;
+                if (camp.getOrganizedBy() != null && volunteerId.equals(camp.getOrganizedBy().getId())) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            evictions.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Hit/miss counters for monitoring
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("hitRate", requests > 0 ? (hitCount * 100.0) / requests : 0.0);
+        return stats;
+    }
+
+    private void put(BloodDonationCamp camp, long now, long loadGeneration) {
+        synchronized (entries) {
+            if (generation != loadGeneration) {
+                // Evicted while loading: the loaded row may already be stale
+                return;
+            }
+            entries.put(camp.getId(), new CacheEntry(camp, now + ttlSeconds * 1000));
+            // Least recently used entries go first once the cache is full
+            Iterator<CacheEntry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    // Field-by-field copy; the organizer is shared and only read through the camp
+    private static BloodDonationCamp copyOf(BloodDonationCamp camp) {
+        BloodDonationCamp copy = new BloodDonationCamp();
+        copy.setId(camp.getId());
+        copy.setCampName(camp.getCampName());
+        copy.setDescription(camp.getDescription());
+        copy.setLocation(camp.getLocation());
+        copy.setCampDate(camp.getCampDate());
+        copy.setStartTime(camp.getStartTime());
+        copy.setEndTime(camp.getEndTime());
+        copy.setMaxDonors(camp.getMaxDonors());
+        copy.setCurrentDonors(camp.getCurrentDonors());
+        copy.setOrganizedBy(camp.getOrganizedBy());
+        copy.setIsActive(camp.getIsActive());
+        copy.setFlashRegistration(camp.getFlashRegistration());
+        copy.setCreatedAt(camp.getCreatedAt());
+        copy.setUpdatedAt(camp.getUpdatedAt());
+        return copy;
+    }
+
+    private static class CacheEntry {
+        private final BloodDonationCamp camp;
+        private final long expiresAt;
+
+        CacheEntry(BloodDonationCamp camp, long expiresAt) {
+            this.camp = camp;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
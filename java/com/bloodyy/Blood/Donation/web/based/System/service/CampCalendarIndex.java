@@ -0,0 +1,143 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory calendar of active camps: camp date -> camp ids ordered by start time.
+ * Only ids are kept, so callers always load fresh rows for the days they ask for.
+ * Kept in sync by BloodDonationCampService on create/update/delete.
+ */
+@Component
+public class CampCalendarIndex {
+
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
+    private final ConcurrentSkipListMap<LocalDate, ConcurrentSkipListSet<CampSlot>> campsByDate = new ConcurrentSkipListMap<>();
+    private final Map<Long, CampSlot> slotsByCampId = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    /**
+     * Add or move a camp in the calendar (inactive camps are removed)
+     */
+    public void index(BloodDonationCamp camp) {
+        if (camp == null || camp.getId() == null) return;
+        ensureLoaded();
+
+        remove(camp.getId());
+        if (Boolean.TRUE.equals(camp.getIsActive()) && camp.getCampDate() != null) {
+            put(camp.getId(), camp.getCampDate(), camp.getStartTime());
+        }
+    }
+
+    /**
+     * Remove a camp from the calendar
+     */
+    public void remove(Long campId) {
+        ensureLoaded();
+
+        CampSlot slot = slotsByCampId.remove(campId);
+        if (slot != null) {
+            ConcurrentSkipListSet<CampSlot> day = campsByDate.get(slot.campDate);
+            if (day != null) {
+                day.remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Camp ids on a single day, ordered by start time
+     */
+    public List<Long> getCampIdsOn(LocalDate date) {
+        return getCampIdsBetween(date, date);
+    }
+
+    /**
+     * Camp ids from the given day onwards, ordered by date then start time
+     */
+    public List<Long> getCampIdsFrom(LocalDate fromDate) {
+        ensureLoaded();
+        pruneBefore(LocalDate.now());
+        return collect(campsByDate.tailMap(fromDate, true));
+    }
+
+    /**
+     * Camp ids between two days (inclusive), ordered by date then start time
+     */
+    public List<Long> getCampIdsBetween(LocalDate fromDate, LocalDate toDate) {
+        ensureLoaded();
+        pruneBefore(LocalDate.now());
+        if (toDate.isBefore(fromDate)) return new ArrayList<>();
+        return collect(campsByDate.subMap(fromDate, true, toDate, true));
+    }
+
+    private List<Long> collect(NavigableMap<LocalDate, ConcurrentSkipListSet<CampSlot>> days) {
+        List<Long> campIds = new ArrayList<>();
+        for (ConcurrentSkipListSet<CampSlot> day : days.values()) {
+            for (CampSlot slot : day) {
+                campIds.add(slot.campId);
+            }
+        }
+        return campIds;
+    }
+
+    private void put(Long campId, LocalDate campDate, LocalTime startTime) {
+        CampSlot slot = new CampSlot(campId, campDate, startTime);
+        slotsByCampId.put(campId, slot);
+        campsByDate.computeIfAbsent(campDate, d -> new ConcurrentSkipListSet<>(CampSlot.ORDER)).add(slot);
+    }
+
+    // Past days are never queried again, drop them as the calendar rolls forward
+    private void pruneBefore(LocalDate date) {
+        LocalDate first = campsByDate.isEmpty() ? null : campsByDate.firstKey();
+        if (first == null || !first.isBefore(date)) return;
+
+        NavigableMap<LocalDate, ConcurrentSkipListSet<CampSlot>> pastDays = campsByDate.headMap(date, false);
+        for (ConcurrentSkipListSet<CampSlot> day : pastDays.values()) {
+            for (CampSlot slot : day) {
+                slotsByCampId.remove(slot.campId, slot);
+            }
+        }
+        pastDays.clear();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            for (Object[] row : campRepository.findActiveCampScheduleFrom(LocalDate.now())) {
+                put((Long) row[0], (LocalDate) row[1], (LocalTime) row[2]);
+            }
+            loaded = true;
+        }
+    }
+
+    private static class CampSlot {
+        static final Comparator<CampSlot> ORDER = Comparator
+                .comparing((CampSlot s) -> s.startTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(s -> s.campId);
+
+        private final Long campId;
+        private final LocalDate campDate;
+        private final LocalTime startTime;
+
+        CampSlot(Long campId, LocalDate campDate, LocalTime startTime) {
+            this.campId = campId;
+            this.campDate = campDate;
+            this.startTime = startTime;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.dto.AttendanceTotals;
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampAttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * In-process Server-Sent Events fan-out of camp-day counter deltas (attended, donated,
+ * registered). Writers publish after their data is committed; every open dashboard
+ * is fed from memory, so viewers add no database load beyond one absolute snapshot
+ * when they (re)connect. Sends run on virtual threads so a slow client never holds up
+ * the request that caused the change. Streams are closed as soon as the context starts
+ * closing, so graceful shutdown is not left waiting on open dashboards.
+ */
+@Component
+public class CampLiveFeed {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final Map<Long, Set<SseEmitter>> campEmitters = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> globalEmitters = new CopyOnWriteArraySet<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed = false;
+
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
+    @Autowired
+    private CampAttendanceRepository campAttendanceRepository;
+
+    @Autowired
+    private CampCache campCache;
+
+    /**
+     * Stream of counter deltas for one camp, starting with a snapshot of its counters
+     */
+    public SseEmitter subscribe(Long campId) {
+        Set<SseEmitter> emitters = campEmitters.computeIfAbsent(campId, id -> new CopyOnWriteArraySet<>());
+        SseEmitter emitter = register(emitters);
+        sendSnapshot(emitter, () -> campSnapshot(campId));
+        return emitter;
+    }
+
+    /**
+     * Stream of counter deltas for active camps of verified organizers (dashboards),
+     * starting with a snapshot of their totals
+     */
+    public SseEmitter subscribeGlobal() {
+        SseEmitter emitter = register(globalEmitters);
+        sendSnapshot(emitter, this::globalSnapshot);
+        return emitter;
+    }
+
+    /**
+     * Publish a counter change for a camp; deferred until commit when called inside a transaction
+     */
+    public void publish(Long campId, int attendedDelta, int donatedDelta, int registeredDelta) {
+        if (attendedDelta == 0 && donatedDelta == 0 && registeredDelta == 0) return;
+
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("campId", campId);
+        delta.put("attended", attendedDelta);
+        delta.put("donated", donatedDelta);
+        delta.put("registered", registeredDelta);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanOut(campId, delta);
+                }
+            });
+        } else {
+            fanOut(campId, delta);
+        }
+    }
+
+    // Keeps idle connections open through proxies and drops clients that went away
+    @Scheduled(fixedDelay = 25000)
+    public void heartbeat() {
+        for (Set<SseEmitter> emitters : campEmitters.values()) {
+            send(emitters, () -> SseEmitter.event().comment("ping"));
+        }
+        send(globalEmitters, () -> SseEmitter.event().comment("ping"));
+        campEmitters.values().removeIf(Set::isEmpty);
+    }
+
+    // ContextClosedEvent comes before the web server's graceful shutdown, which would otherwise wait on these
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        closed = true;
+        senders.shutdownNow();
+        for (Set<SseEmitter> emitters : campEmitters.values()) {
+            emitters.forEach(SseEmitter::complete);
+        }
+        globalEmitters.forEach(SseEmitter::complete);
+    }
+
+    private SseEmitter register(Set<SseEmitter> emitters) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    private void fanOut(Long campId, Map<String, Object> delta) {
+        Set<SseEmitter> emitters = campEmitters.get(campId);
+        if (closed || ((emitters == null || emitters.isEmpty()) && globalEmitters.isEmpty())) return;
+
+        senders.execute(() -> {
+            if (emitters != null) {
+                send(emitters, () -> SseEmitter.event().name("counters").data(delta));
+            }
+            // Global totals only cover active camps of verified organizers
+            if (!globalEmitters.isEmpty() && isActiveVerifiedCamp(campId)) {
+                send(globalEmitters, () -> SseEmitter.event().name("counters").data(delta));
+            }
+        });
+    }
+
+    // Sent after the emitter is registered, so no change made while it is read is missed
+    private void sendSnapshot(SseEmitter emitter, Supplier<Map<String, Object>> snapshot) {
+        if (closed) {
+            emitter.complete();   // shutting down; the client reconnects to the next instance
+            return;
+        }
+        senders.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().name("snapshot").data(snapshot.get()));
+            } catch (Exception e) {
+                emitter.completeWithError(e);   // the client reconnects and asks again
+            }
+        });
+    }
+
+    private Map<String, Object> campSnapshot(Long campId) {
+        AttendanceTotals totals = campAttendanceRepository.getCampAttendanceTotals(campId);
+        Integer registered = campRepository.findById(campId).map(BloodDonationCamp::getCurrentDonors).orElse(null);
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("campId", campId);
+        snapshot.put("attended", totals.getTotalAttendees());
+        snapshot.put("donated", totals.getTotalBloodDonations());
+        snapshot.put("registered", registered != null ? registered : 0);
+        return snapshot;
+    }
+
+    // Same figures as CampAttendanceService.getGlobalAttendanceStatistics
+    private Map<String, Object> globalSnapshot() {
+        AttendanceTotals totals = campAttendanceRepository.getGlobalAttendanceTotals();
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("attended", totals.getTotalAttendees());
+        snapshot.put("donated", totals.getTotalBloodDonations());
+        snapshot.put("registered", campRepository.getActiveVerifiedCampTotals().getTotalRegisteredDonors());
+        return snapshot;
+    }
+
+    private boolean isActiveVerifiedCamp(Long campId) {
+        try {
+            BloodDonationCamp camp = campCache.get(campId, id -> campRepository.findById(id).orElse(null));
+            return camp != null && Boolean.TRUE.equals(camp.getIsActive())
+                    && Boolean.TRUE.equals(camp.getOrganizedBy().getIsVolunteerVerified());
+        } catch (Exception e) {
+            System.err.println("Error checking camp " + campId + " for the global feed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // A builder can only be sent once, so each emitter gets a fresh event
+    private static void send(Set<SseEmitter> emitters, Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (Exception e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists already-admitted registrations with one JDBC batch insert and
+ * one current_donors refresh per camp, instead of a save per registration.
+ */
+@Component
+public class CampRegistrationBatchWriter {
+
+    // A cancelled row of the same donor is reactivated instead (unique camp_id, donor_id);
+    // registered_at is assigned first because it still has to see the old status
+    private static final String INSERT_REGISTRATION =
+            "INSERT INTO camp_registrations (camp_id, donor_id, registered_at, status) VALUES (?, ?, ?, 'REGISTERED') " +
+            "ON DUPLICATE KEY UPDATE registered_at = IF(status = 'CANCELLED', VALUES(registered_at), registered_at), " +
+            "status = IF(status = 'CANCELLED', 'REGISTERED', status)";
+
+    private static final String CANCEL_REGISTRATION =
+            "UPDATE camp_registrations SET status = 'CANCELLED' WHERE camp_id = ? AND donor_id = ? AND status = 'REGISTERED'";
+
+    // Counter is recomputed from the rows so it is exact after any batch or crash
+    private static final String SYNC_CURRENT_DONORS =
+            "UPDATE blood_donation_camps SET current_donors = " +
+            "(SELECT COUNT(*) FROM camp_registrations WHERE camp_id = ? AND status = 'REGISTERED') WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
+    @Autowired
+    private CampRegistrationRepository campRegistrationRepository;
+
+    /**
+     * Admit as many of the given registrations as capacity allows and write them.
+     * The batch's camp rows are locked first, so concurrent seat claims on those camps wait
+     * for this batch instead of overselling. Returns the rejected ones with their reason.
+     */
+    @Transactional
+    public Map<PendingRegistration, String> admitAndWrite(List<PendingRegistration> registrations) {
+        Map<PendingRegistration, String> rejected = new IdentityHashMap<>();
+        if (registrations.isEmpty()) return rejected;
+
+        Set<Long> campIds = new LinkedHashSet<>();
+        Set<Long> donorIds = new HashSet<>();
+        for (PendingRegistration registration : registrations) {
+            campIds.add(registration.getCampId());
+            donorIds.add(registration.getDonorId());
+        }
+
+        Map<Long, Integer> freeSeats = new HashMap<>();
+        for (Object[] row : campRepository.lockActiveCampCapacities(campIds)) {
+            freeSeats.put((Long) row[0], (Integer) row[1]);
+        }
+        for (Object[] row : campRegistrationRepository.countActiveRegistrationsByCampIds(campIds)) {
+            freeSeats.computeIfPresent((Long) row[0], (campId, max) -> max - ((Long) row[1]).intValue());
+        }
+
+        Set<String> registered = new HashSet<>();
+        for (Object[] row : campRegistrationRepository.findActiveRegistrationPairs(campIds, donorIds)) {
+            registered.add(row[0] + ":" + row[1]);
+        }
+
+        List<PendingRegistration> admitted = new ArrayList<>();
+        for (PendingRegistration registration : registrations) {
+            Integer free = freeSeats.get(registration.getCampId());
+            if (free == null) {
+                rejected.put(registration, "Camp not found");
+            } else if (!registered.add(registration.getCampId() + ":" + registration.getDonorId())) {
+                rejected.put(registration, "You are already registered for this camp");
+            } else if (free <= 0) {
+                rejected.put(registration, "Camp is at full capacity");
+            } else {
+                freeSeats.put(registration.getCampId(), free - 1);
+                admitted.add(registration);
+            }
+        }
+
+        writeRegistrations(admitted);
+        return rejected;
+    }
+
+    @Transactional
+    public void writeRegistrations(List<PendingRegistration> registrations) {
+        if (registrations.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(registrations.size());
+        Set<Long> campIds = new LinkedHashSet<>();
+        for (PendingRegistration registration : registrations) {
+            rows.add(new Object[]{registration.getCampId(), registration.getDonorId(),
+                    Timestamp.valueOf(registration.getRegisteredAt())});
+            campIds.add(registration.getCampId());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_REGISTRATION, rows);
+        syncCurrentDonors(campIds);
+    }
+
+    /**
+     * Cancel registrations that were withdrawn while their batch was being written
+     */
+    @Transactional
+    public void cancelRegistrations(List<PendingRegistration> registrations) {
+        if (registrations.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(registrations.size());
+        Set<Long> campIds = new LinkedHashSet<>();
+        for (PendingRegistration registration : registrations) {
+            rows.add(new Object[]{registration.getCampId(), registration.getDonorId()});
+            campIds.add(registration.getCampId());
+        }
+
+        jdbcTemplate.batchUpdate(CANCEL_REGISTRATION, rows);
+        syncCurrentDonors(campIds);
+    }
+
+    /**
+     * Set current_donors of each camp to its number of active registrations
+     */
+    @Transactional
+    public void syncCurrentDonors(Collection<Long> campIds) {
+        if (campIds.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(campIds.size());
+        for (Long campId : campIds) {
+            rows.add(new Object[]{campId, campId});
+        }
+        jdbcTemplate.batchUpdate(SYNC_CURRENT_DONORS, rows);
+    }
+
+    public static class PendingRegistration {
+        private final Long campId;
+        private final Long donorId;
+        private final LocalDateTime registeredAt;
+
+        public PendingRegistration(Long campId, Long donorId, LocalDateTime registeredAt) {
+            this.campId = campId;
+            this.donorId = donorId;
+            this.registeredAt = registeredAt;
+        }
+
+        // Getters
+        public Long getCampId() { return campId; }
+        public Long getDonorId() { return donorId; }
+        public LocalDateTime getRegisteredAt() { return registeredAt; }
+    }
+}
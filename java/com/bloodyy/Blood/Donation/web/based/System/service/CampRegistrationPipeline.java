@@ -0,0 +1,252 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.dto.RegistrationTicket;
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampRegistrationBatchWriter.PendingRegistration;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous registration intake. Requests are validated on virtual threads,
+ * queued, and a single drainer coalesces them into batches: one locked camp read,
+ * one JDBC batch insert and one current_donors update per camp per batch.
+ * Callers get a ticket back immediately and poll it for the outcome.
+ */
+@Component
+public class CampRegistrationPipeline {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+    private static final long DRAINER_POLL_MS = 200;
+
+    @Value("${app.registration-pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.registration-pipeline.linger-ms:20}")
+    private long lingerMs;
+
+    @Value("${app.registration-pipeline.ticket-ttl-minutes:30}")
+    private long ticketTtlMinutes;
+
+    @Autowired
+    private BloodDonationCampService campService;
+
+    @Autowired
+    private DonationEligibilityService donationEligibilityService;
+
+    @Autowired
+    private CampSeatLedger campSeatLedger;
+
+    @Autowired
+    private CampRegistrationBatchWriter batchWriter;
+
+    @Autowired
+    private CampRosterNameIndex rosterNameIndex;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    private final Map<String, RegistrationTicket> tickets = new ConcurrentHashMap<>();
+    private final BlockingQueue<QueuedRegistration> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService validators = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running = true;
+    private Thread drainer;
+
+    @PostConstruct
+    public void start() {
+        drainer = Thread.ofVirtual().name("camp-registration-drainer").start(this::drainLoop);
+    }
+
+    /**
+     * Stop taking requests, write what is already queued, and fail any ticket still open
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        validators.shutdown();
+        try {
+            // Let running validations enqueue and the drainer finish its current batch
+            validators.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+            drainer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_WAIT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!drainer.isAlive()) {
+            List<QueuedRegistration> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                process(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        for (RegistrationTicket ticket : tickets.values()) {
+            if (!ticket.isDone()) {
+                ticket.complete(RegistrationTicket.REJECTED, "Registration failed: the service is shutting down, please try again");
+            }
+        }
+    }
+
+    /**
+     * Accept a registration request and return its ticket straight away
+     */
+    public RegistrationTicket submit(Long campId, User donor) {
+        RegistrationTicket ticket = new RegistrationTicket(UUID.randomUUID().toString(), campId, donor.getId(), LocalDateTime.now());
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!running) {
+            ticket.complete(RegistrationTicket.REJECTED, "Registration failed: the service is shutting down, please try again");
+            return ticket;
+        }
+        try {
+            validators.submit(() -> validate(ticket, donor));
+        } catch (RejectedExecutionException e) {
+            ticket.complete(RegistrationTicket.REJECTED, "Registration failed: the service is shutting down, please try again");
+        }
+        return ticket;
+    }
+
+    public RegistrationTicket getTicket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpiredTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ticketTtlMinutes);
+        tickets.values().removeIf(ticket -> ticket.isDone() && ticket.getCreatedAt().isBefore(cutoff));
+    }
+
+    // Same checks as CampRegistrationService.registerForCamp, minus the seat claim
+    private void validate(RegistrationTicket ticket, User donor) {
+        try {
+            donationEligibilityService.requireCampRegistrationEligibility(donor.getId());
+
+            if (!"DONOR".equals(donor.getUser_type()) || !donor.getIsVerified()) {
+                throw new Exception("Only verified donors can register for blood donation camps");
+            }
+
+            BloodDonationCamp camp = campService.getCampById(ticket.getCampId());
+            if (camp == null || !camp.getIsActive()) {
+                throw new Exception("Camp not found");
+            }
+
+            if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
+                throw new Exception("This camp is organized by an unverified volunteer");
+            }
+
+            if (camp.getCampDate().isBefore(LocalDate.now())) {
+                throw new Exception("Cannot register for past camps");
+            }
+
+            // Flash-registration camps are admitted by the seat ledger directly
+            if (Boolean.TRUE.equals(camp.getFlashRegistration())) {
+                switch (campSeatLedger.tryReserve(camp, donor.getId())) {
+                    case FULL:
+                        throw new Exception("Camp is at full capacity");
+                    case ALREADY_REGISTERED:
+                        throw new Exception("You are already registered for this camp");
+                    default:
+                        rosterNameIndex.onRegistered(camp.getId(), donor);
+                        ticket.complete(RegistrationTicket.REGISTERED, "Successfully registered for the camp!");
+                        return;
+                }
+            }
+
+            queue.add(new QueuedRegistration(ticket,
+                    new PendingRegistration(camp.getId(), donor.getId(), ticket.getCreatedAt())));
+        } catch (Exception e) {
+            ticket.complete(RegistrationTicket.REJECTED, "Registration failed: " + e.getMessage());
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                // Poll rather than block so the loop notices shutdown without being interrupted mid-write
+                QueuedRegistration first = queue.poll(DRAINER_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                List<QueuedRegistration> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+
+                // Linger briefly so a rush coalesces into one batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    QueuedRegistration next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(List<QueuedRegistration> batch) {
+        List<PendingRegistration> registrations = new ArrayList<>(batch.size());
+        for (QueuedRegistration queued : batch) {
+            registrations.add(queued.registration);
+        }
+
+        try {
+            Map<PendingRegistration, String> rejected = batchWriter.admitAndWrite(registrations);
+            Set<Long> campIds = new LinkedHashSet<>();
+            Map<Long, Integer> admitted = new HashMap<>();
+            for (QueuedRegistration queued : batch) {
+                String reason = rejected.get(queued.registration);
+                if (reason == null) {
+                    admitted.merge(queued.registration.getCampId(), 1, Integer::sum);
+                    queued.ticket.complete(RegistrationTicket.REGISTERED, "Successfully registered for the camp!");
+                } else {
+                    queued.ticket.complete(RegistrationTicket.REJECTED, "Registration failed: " + reason);
+                }
+                campIds.add(queued.registration.getCampId());
+            }
+            for (Long campId : campIds) {
+                campService.evictCamp(campId);
+                rosterNameIndex.evict(campId);
+                campLiveFeed.publish(campId, 0, 0, admitted.getOrDefault(campId, 0));
+            }
+        } catch (Exception e) {
+            System.err.println("Error writing registration batch: " + e.getMessage());
+            for (QueuedRegistration queued : batch) {
+                queued.ticket.complete(RegistrationTicket.REJECTED, "Registration failed: please try again");
+            }
+        }
+    }
+
+    private static class QueuedRegistration {
+        private final RegistrationTicket ticket;
+        private final PendingRegistration registration;
+
+        QueuedRegistration(RegistrationTicket ticket, PendingRegistration registration) {
+            this.ticket = ticket;
+            this.registration = registration;
+        }
+    }
+}
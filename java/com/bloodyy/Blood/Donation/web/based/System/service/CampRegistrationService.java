@@ -8,7 +8,11 @@ import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampR
 import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
 import com.bloodyy.Blood.Donation.web.based.System.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,19 +34,31 @@ public class CampRegistrationService {
     @Autowired
     private DonationEligibilityService donationEligibilityService;
 
+    @Autowired
+    private CampSeatLedger campSeatLedger;
+
+    @Autowired
+    private CampRosterNameIndex rosterNameIndex;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    @Transactional(rollbackFor = Exception.class)
     public CampRegistration registerForCamp(Long campId, User donor) throws Exception {
-        // Check donation eligibility first (6-month restriction)
-        DonationEligibilityService.DonationEligibility donationEligibility =
-                donationEligibilityService.checkDonationEligibility(donor.getId());
-        if (!donationEligibility.isEligible()) {
-            throw new Exception(donationEligibility.getMessage());
-        }
+        // Donor rules first: role, verification, age limits and the camp cooldown
+        donationEligibilityService.requireCampRegistrationEligibility(donor.getId());
 
         // Check if donor is verified
         if (!"DONOR".equals(donor.getUser_type()) || !donor.getIsVerified()) {
             throw new Exception("Only verified donors can register for blood donation camps");
         }
 
+        // Flash-registration camps are admitted in memory and persisted write-behind
+        BloodDonationCamp cachedCamp = campService.getCampById(campId);
+        if (cachedCamp != null && Boolean.TRUE.equals(cachedCamp.getFlashRegistration())) {
+            return registerThroughSeatLedger(cachedCamp, donor);
+        }
+
         // Check if camp exists and is active
         BloodDonationCamp camp = campRepository.findById(campId)
                 .orElseThrow(() -> new Exception("Camp not found"));
@@ -62,27 +78,79 @@ public class CampRegistrationService {
             throw new Exception("You are already registered for this camp");
         }
 
-        // Check camp capacity
-        long currentRegistrations = campRegistrationRepository.countActiveRegistrationsByCampId(campId);
-        if (currentRegistrations >= camp.getMaxDonors()) {
+        // Claim a seat atomically; the conditional update fails instead of overselling
+        if (campRepository.reserveSeat(campId) == 0) {
             throw new Exception("Camp is at full capacity");
         }
 
-        // Create registration
+        // Create registration, or reactivate a cancelled one (rolled back together with the seat on failure)
+        LocalDateTime registeredAt = LocalDateTime.now();
+        CampRegistration savedRegistration;
+        if (campRegistrationRepository.reactivateIfCancelled(campId, donor.getId(), registeredAt) == 1) {
+            savedRegistration = campRegistrationRepository.findByCampIdAndDonorId(campId, donor.getId())
+                    .orElseThrow(() -> new Exception("Registration not found"));
+        } else {
+            CampRegistration registration = new CampRegistration();
+            registration.setCamp(camp);
+            registration.setDonor(donor);
+            registration.setRegisteredAt(registeredAt);
+            registration.setStatus("REGISTERED");
+            try {
+                // Flushed here so a concurrent duplicate hits the unique key inside this try
+                savedRegistration = campRegistrationRepository.saveAndFlush(registration);
+            } catch (DataIntegrityViolationException e) {
+                throw new Exception("You are already registered for this camp");
+            }
+        }
+        evictCampAfterCommit(campId);
+        rosterNameIndex.onRegistered(campId, donor);
+        campLiveFeed.publish(campId, 0, 0, 1);
+        return savedRegistration;
+    }
+
+    /**
+     * Flash-registration path: validation uses the cached camp and the seat ledger only.
+     * The returned registration is not persisted yet (no id) - the ledger writes it in the next batch.
+     */
+    private CampRegistration registerThroughSeatLedger(BloodDonationCamp camp, User donor) throws Exception {
+        if (!camp.getIsActive()) {
+            throw new Exception("Camp not found");
+        }
+
+        if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
+            throw new Exception("This camp is organized by an unverified volunteer");
+        }
+
+        if (camp.getCampDate().isBefore(java.time.LocalDate.now())) {
+            throw new Exception("Cannot register for past camps");
+        }
+
+        switch (campSeatLedger.tryReserve(camp, donor.getId())) {
+            case FULL:
+                throw new Exception("Camp is at full capacity");
+            case ALREADY_REGISTERED:
+                throw new Exception("You are already registered for this camp");
+            default:
+                break;
+        }
+        rosterNameIndex.onRegistered(camp.getId(), donor);   // counters are published once the ledger writes it
+
         CampRegistration registration = new CampRegistration();
         registration.setCamp(camp);
         registration.setDonor(donor);
         registration.setRegisteredAt(LocalDateTime.now());
         registration.setStatus("REGISTERED");
-
-        // Update current donors count
-        camp.setCurrentDonors((int) currentRegistrations + 1);
-        campRepository.save(camp);
-
-        return campRegistrationRepository.save(registration);
+        return registration;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public boolean cancelRegistration(Long campId, User donor) throws Exception {
+        // Still queued in the seat ledger: withdraw it before it is written (it was never published)
+        if (campSeatLedger.cancelPending(campId, donor.getId())) {
+            rosterNameIndex.onRegistrationCancelled(campId, donor.getId());
+            return true;
+        }
+
         CampRegistration registration = campRegistrationRepository
                 .findByCampIdAndDonorId(campId, donor.getId())
                 .orElseThrow(() -> new Exception("Registration not found"));
@@ -91,19 +159,33 @@ public class CampRegistrationService {
             throw new Exception("Registration is not active");
         }
 
-        // Update registration status
-        registration.setStatus("CANCELLED");
-        campRegistrationRepository.save(registration);
-
-        // Update camp current donors count
-        BloodDonationCamp camp = registration.getCamp();
-        long currentRegistrations = campRegistrationRepository.countActiveRegistrationsByCampId(campId);
-        camp.setCurrentDonors((int) currentRegistrations);
-        campRepository.save(camp);
+        // Update registration status; only the request that flips it releases the seat
+        if (campRegistrationRepository.cancelIfRegistered(registration.getId()) == 0) {
+            throw new Exception("Registration is not active");
+        }
+        campRepository.releaseSeat(campId);
+        campSeatLedger.release(campId, donor.getId());
+        evictCampAfterCommit(campId);
+        rosterNameIndex.onRegistrationCancelled(campId, donor.getId());
+        campLiveFeed.publish(campId, 0, 0, -1);
 
         return true;
     }
 
+    // Evicting before the commit would let a concurrent read cache the old seat counter again
+    private void evictCampAfterCommit(Long campId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    campService.evictCamp(campId);
+                }
+            });
+        } else {
+            campService.evictCamp(campId);
+        }
+    }
+
     public List<CampRegistration> getDonorRegistrations(Long donorId) {
         return campRegistrationRepository.findByDonorIdAndStatus(donorId, "REGISTERED");
     }
@@ -170,15 +252,19 @@ public class CampRegistrationService {
     }
 
     /**
-     * Check if a donor can register for a camp (with detailed validation including 6-month restriction)
+     * Check if a donor can register for a camp (with detailed validation: donor rules including the
+     * camp cooldown and age limits, then the camp itself)
      */
     public RegistrationEligibility checkRegistrationEligibility(Long campId, User donor) {
         try {
-            // Check donation eligibility first (6-month restriction)
-            DonationEligibilityService.DonationEligibility donationEligibility =
-                    donationEligibilityService.checkDonationEligibility(donor.getId());
-            if (!donationEligibility.isEligible()) {
-                return new RegistrationEligibility(false, donationEligibility.getMessage());
+            // Donor rules first: role, verification, age and the camp cooldown, all reasons at once
+            EligibilityRuleEngine.EligibilityDecision decision = donationEligibilityService
+                    .evaluateDonor(donor.getId(), EligibilityRuleEngine.Purpose.CAMP_REGISTRATION);
+            if (decision == null) {
+                return new RegistrationEligibility(false, "Donor not found");
+            }
+            if (!decision.isEligible()) {
+                return new RegistrationEligibility(false, DonationEligibilityService.describe(decision));
             }
 
             BloodDonationCamp camp = campService.getCampById(campId);
@@ -190,14 +276,6 @@ public class CampRegistrationService {
                 return new RegistrationEligibility(false, "Camp is not active");
             }
 
-            if (!"DONOR".equals(donor.getUser_type())) {
-                return new RegistrationEligibility(false, "Only donors can register for camps");
-            }
-
-            if (!donor.getIsVerified()) {
-                return new RegistrationEligibility(false, "Donor is not verified");
-            }
-
             if (!camp.getOrganizedBy().getIsVolunteerVerified()) {
                 return new RegistrationEligibility(false, "Camp organizer is not verified");
             }
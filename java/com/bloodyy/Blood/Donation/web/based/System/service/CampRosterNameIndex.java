@@ -0,0 +1,327 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampAttendanceRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Per-camp name index for the check-in desk type-ahead. Each camp's roster (registered donors
+ * plus anyone with attendance) is loaded with two queries on first use, then kept as sorted
+ * normalized keys over first, last and full name, so a prefix lookup is one skip-list range scan.
+ * Every other suffix of the full name is kept in a second map, so a match inside a name is the
+ * same range scan there; it is only read once the name prefixes run out.
+ * Registration and attendance paths push their changes here, applied after their transaction
+ * commits; batch paths evict the camp instead. Every change bumps the camp's version, and a
+ * roster whose version moved while it was loading is used once but not cached.
+ */
+@Component
+public class CampRosterNameIndex {
+
+    private static final int MAX_CAMPS = 200;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    @Autowired
+    private CampRegistrationRepository campRegistrationRepository;
+
+    @Autowired
+    private CampAttendanceRepository campAttendanceRepository;
+
+    private final Map<Long, CampRoster> rosters = new ConcurrentHashMap<>();
+
+    // Changes and cache inserts are serialized so a change cannot fall between a load and its insert
+    private final Object changeLock = new Object();
+    private final Map<Long, Long> versions = new HashMap<>();   // guarded by changeLock
+
+    /**
+     * Roster entries whose name contains the query: first, last or full name prefix matches
+     * alphabetically, then matches inside a name
+     */
+    public List<RosterEntry> search(Long campId, String query, int limit, Predicate<RosterEntry> filter) {
+        String prefix = CampSearchIndex.normalize(query);
+        List<RosterEntry> matches = new ArrayList<>();
+        if (prefix.isEmpty() || limit <= 0) return matches;
+
+        CampRoster roster = roster(campId);
+        Set<RosterEntry> seen = new LinkedHashSet<>();
+        collect(roster.keys, prefix, limit, filter, seen, matches);
+        collect(roster.infixes, prefix, limit, filter, seen, matches);
+        return matches;
+    }
+
+    private static void collect(ConcurrentSkipListMap<String, RosterEntry> keys, String prefix, int limit,
+                                Predicate<RosterEntry> filter, Set<RosterEntry> seen, List<RosterEntry> matches) {
+        if (matches.size() >= limit) return;
+        for (RosterEntry entry : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            if (seen.add(entry) && filter.test(entry)) {
+                matches.add(entry);
+                if (matches.size() >= limit) return;
+            }
+        }
+    }
+
+    /**
+     * Validate a journal-mode check-in against the roster and mark the donor attended.
+     * Returns why it is refused, or null when the check-in was claimed.
+     */
+    public String claimCheckIn(Long campId, Long donorId) {
+        RosterEntry entry = roster(campId).byDonor.get(donorId);
+        if (entry == null || !entry.registered) return "Donor is not registered for this camp";
+        if (!entry.verified) return "Invalid or unverified donor";
+
+        synchronized (entry) {
+            if (entry.attended) return "Attendance already recorded for this donor";
+            entry.attended = true;
+        }
+        return null;
+    }
+
+    // Undo a claim whose journal append failed
+    public void releaseCheckIn(Long campId, Long donorId) {
+        RosterEntry entry = entry(campId, donorId);
+        if (entry != null) {
+            entry.attended = false;
+        }
+    }
+
+    /**
+     * Roster entry for a donor, loading the camp's roster if needed (null when not on it)
+     */
+    public RosterEntry find(Long campId, Long donorId) {
+        return roster(campId).byDonor.get(donorId);
+    }
+
+    public void onRegistered(Long campId, User donor) {
+        afterCommit(campId, roster -> {
+            RosterEntry entry = roster.byDonor.get(donor.getId());
+            if (entry == null) {
+                entry = new RosterEntry(donor.getId(), donor.getFirstName(), donor.getLastName(),
+                        Boolean.TRUE.equals(donor.getIsVerified()));
+                roster.put(entry);
+            }
+            entry.registered = true;
+        });
+    }
+
+    public void onRegistrationCancelled(Long campId, Long donorId) {
+        afterCommit(campId, roster -> {
+            RosterEntry entry = roster.byDonor.get(donorId);
+            if (entry == null) return;
+
+            entry.registered = false;
+            if (!entry.attended) {
+                roster.remove(entry);
+            }
+        });
+    }
+
+    public void onAttendanceRecorded(Long campId, Long donorId) {
+        afterCommit(campId, roster -> {
+            RosterEntry entry = roster.byDonor.get(donorId);
+            if (entry != null) {
+                entry.attended = true;
+            }
+        });
+    }
+
+    public void onBloodDonated(Long campId, Long donorId) {
+        afterCommit(campId, roster -> {
+            RosterEntry entry = roster.byDonor.get(donorId);
+            if (entry != null) {
+                entry.attended = true;
+                entry.bloodDonated = true;
+            }
+        });
+    }
+
+    /**
+     * Drop a camp's roster; it is reloaded on the next search
+     */
+    public void evict(Long campId) {
+        synchronized (changeLock) {
+            versions.merge(campId, 1L, Long::sum);
+            rosters.remove(campId);
+        }
+    }
+
+    // Deferred until commit when called inside a transaction, so a rollback leaves no trace
+    private void afterCommit(Long campId, Consumer<CampRoster> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(campId, change);
+                }
+            });
+        } else {
+            apply(campId, change);
+        }
+    }
+
+    private void apply(Long campId, Consumer<CampRoster> change) {
+        synchronized (changeLock) {
+            versions.merge(campId, 1L, Long::sum);
+            CampRoster roster = rosters.get(campId);
+            if (roster != null) {
+                change.accept(roster);   // otherwise loaded fresh on first search
+            }
+        }
+    }
+
+    private RosterEntry entry(Long campId, Long donorId) {
+        CampRoster roster = rosters.get(campId);
+        return roster != null ? roster.byDonor.get(donorId) : null;
+    }
+
+    private CampRoster roster(Long campId) {
+        CampRoster roster = rosters.get(campId);
+        if (roster == null) {
+            long version;
+            synchronized (changeLock) {
+                version = versions.getOrDefault(campId, 0L);
+            }
+            roster = load(campId);
+            synchronized (changeLock) {
+                // A change during the load may be missing from it; the next search loads again
+                if (versions.getOrDefault(campId, 0L) == version) {
+                    if (rosters.size() >= MAX_CAMPS) {
+                        evictLeastRecentlyUsed();
+                    }
+                    CampRoster cached = rosters.putIfAbsent(campId, roster);
+                    if (cached != null) {
+                        roster = cached;
+                    }
+                }
+            }
+        }
+        roster.lastAccess = System.nanoTime();
+        return roster;
+    }
+
+    private CampRoster load(Long campId) {
+        CampRoster roster = new CampRoster();
+        // Rows are donorId, firstName, lastName, isVerified
+        for (Object[] row : campRegistrationRepository.findRosterNamesByCampId(campId)) {
+            RosterEntry entry = new RosterEntry((Long) row[0], (String) row[1], (String) row[2], Boolean.TRUE.equals(row[3]));
+            entry.registered = true;
+            roster.put(entry);
+        }
+        // Rows are donorId, firstName, lastName, isVerified, bloodDonated
+        for (Object[] row : campAttendanceRepository.findAttendeeNamesByCampId(campId)) {
+            RosterEntry entry = roster.byDonor.get((Long) row[0]);
+            if (entry == null) {
+                entry = new RosterEntry((Long) row[0], (String) row[1], (String) row[2], Boolean.TRUE.equals(row[3]));
+                roster.put(entry);
+            }
+            entry.attended = true;
+            entry.bloodDonated = Boolean.TRUE.equals(row[4]);
+        }
+        return roster;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Long oldestCampId = null;
+        long oldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<Long, CampRoster> e : rosters.entrySet()) {
+            if (e.getValue().lastAccess < oldestAccess) {
+                oldestAccess = e.getValue().lastAccess;
+                oldestCampId = e.getKey();
+            }
+        }
+        if (oldestCampId != null) {
+            rosters.remove(oldestCampId);
+        }
+    }
+
+    private static class CampRoster {
+        private final ConcurrentSkipListMap<String, RosterEntry> keys = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, RosterEntry> infixes = new ConcurrentSkipListMap<>();
+        private final Map<Long, RosterEntry> byDonor = new ConcurrentHashMap<>();
+        private volatile long lastAccess = System.nanoTime();
+
+        void put(RosterEntry entry) {
+            RosterEntry previous = byDonor.put(entry.donorId, entry);
+            if (previous != null) {
+                remove(previous);
+            }
+            for (String key : entry.keys()) {
+                keys.put(key, entry);
+            }
+            for (String key : entry.infixKeys()) {
+                infixes.put(key, entry);
+            }
+        }
+
+        void remove(RosterEntry entry) {
+            byDonor.remove(entry.donorId, entry);
+            for (String key : entry.keys()) {
+                keys.remove(key, entry);
+            }
+            for (String key : entry.infixKeys()) {
+                infixes.remove(key, entry);
+            }
+        }
+    }
+
+    public static class RosterEntry {
+        private final Long donorId;
+        private final String firstName;
+        private final String lastName;
+        private final boolean verified;
+        private volatile boolean registered;
+        private volatile boolean attended;
+        private volatile boolean bloodDonated;
+
+        RosterEntry(Long donorId, String firstName, String lastName, boolean verified) {
+            this.donorId = donorId;
+            this.firstName = firstName != null ? firstName : "";
+            this.lastName = lastName != null ? lastName : "";
+            this.verified = verified;
+        }
+
+        // Donor id suffix keeps keys unique when two donors share a name
+        List<String> keys() {
+            String suffix = KEY_SEPARATOR + String.valueOf(donorId);
+            return List.of(
+                    CampSearchIndex.normalize(firstName) + suffix,
+                    CampSearchIndex.normalize(lastName) + suffix,
+                    CampSearchIndex.normalize(getFullName()) + suffix);
+        }
+
+        // Full-name suffixes starting inside the name, for substring matches
+        List<String> infixKeys() {
+            String suffix = KEY_SEPARATOR + String.valueOf(donorId);
+            String fullName = CampSearchIndex.normalize(getFullName());
+            List<String> infixKeys = new ArrayList<>();
+            for (int i = 1; i < fullName.length(); i++) {
+                if (fullName.charAt(i) != ' ') {
+                    infixKeys.add(fullName.substring(i) + suffix);
+                }
+            }
+            return infixKeys;
+        }
+
+        // Getters
+        public Long getDonorId() { return donorId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getFullName() { return firstName + " " + lastName; }
+        public boolean isVerified() { return verified; }
+        public boolean isRegistered() { return registered; }
+        public boolean isAttended() { return attended; }
+        public boolean isBloodDonated() { return bloodDonated; }
+    }
+}
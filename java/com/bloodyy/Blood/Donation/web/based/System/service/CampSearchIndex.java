@@ -0,0 +1,308 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.dto.CampSummary;
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.repository.BloodDonationCampRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process inverted index over active camps (name, location, organizer name).
+ * Text is indexed as character trigrams, so substring searches of three or more
+ * characters only look at camps sharing the query's trigrams instead of scanning
+ * every camp; shorter queries fall back to a scan of the documents.
+ * Kept in sync by BloodDonationCampService on create/update/delete and organizer renames.
+ * Writers are serialized; readers never lock and always see either the old or the new
+ * document of a camp, because new postings go in before the swap and stale ones come out after.
+ */
+@Component
+public class CampSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int ORGANIZER_WEIGHT = 1;
+
+    @Autowired
+    private BloodDonationCampRepository campRepository;
+
+    private final Map<Long, CampDocument> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    /**
+     * Add or refresh a camp (inactive camps are removed)
+     */
+    public void index(BloodDonationCamp camp) {
+        if (camp == null || camp.getId() == null) return;
+        if (!Boolean.TRUE.equals(camp.getIsActive())) {
+            remove(camp.getId());
+            return;
+        }
+
+        Long organizerId = camp.getOrganizedBy() != null ? camp.getOrganizedBy().getId() : null;
+        String organizerName = camp.getOrganizedBy() != null
+                ? camp.getOrganizedBy().getFirstName() + " " + camp.getOrganizedBy().getLastName()
+                : "";
+        index(new CampDocument(camp.getId(), camp.getCampName(), camp.getLocation(),
+                organizerId, organizerName, camp.getCampDate()));
+    }
+
+    /**
+     * Remove a camp from the index
+     */
+    public void remove(Long campId) {
+        ensureLoaded();
+        synchronized (this) {
+            CampDocument previous = documents.remove(campId);
+            if (previous != null) {
+                removePostings(campId, previous.grams());
+            }
+        }
+    }
+
+    /**
+     * Refresh the organizer name on every indexed camp of a volunteer (after a profile rename)
+     */
+    public void reindexOrganizer(Long volunteerId, String firstName, String lastName) {
+        ensureLoaded();
+        String organizerName = firstName + " " + lastName;
+        synchronized (this) {
+            for (CampDocument doc : new ArrayList<>(documents.values())) {
+                if (volunteerId.equals(doc.organizerId)) {
+                    index(new CampDocument(doc.campId, doc.name, doc.location,
+                            volunteerId, organizerName, doc.campDate));
+                }
+            }
+        }
+    }
+
+    /**
+     * Ranked camp ids matching the given text and filters.
+     *
+     * @param text               matched against camp name and location (substring, case-insensitive)
+     * @param matchOrganizerName also match the text against the organizer's name
+     * @param status             optional "today", "upcoming" or "completed"
+     * @param organizer          optional organizer name filter (substring)
+     * @param fromDate           optional lower bound on camp date
+     */
+    public List<Long> search(String text, boolean matchOrganizerName, String status, String organizer, LocalDate fromDate) {
+        ensureLoaded();
+
+        String term = normalize(text);
+        String organizerTerm = normalize(organizer);
+        LocalDate today = LocalDate.now();
+
+        Collection<CampDocument> candidates;
+        if (!term.isEmpty()) {
+            candidates = candidates(term);
+        } else if (!organizerTerm.isEmpty()) {
+            candidates = candidates(organizerTerm);
+        } else {
+            candidates = documents.values();
+        }
+
+        List<ScoredCamp> matches = new ArrayList<>();
+        for (CampDocument doc : candidates) {
+            if (fromDate != null && doc.campDate.isBefore(fromDate)) continue;
+            if (!matchesStatus(doc, status, today)) continue;
+            if (!organizerTerm.isEmpty() && !doc.organizerName.contains(organizerTerm)) continue;
+
+            int score = 0;
+            if (!term.isEmpty()) {
+                score += score(doc.name, term, NAME_WEIGHT);
+                score += score(doc.location, term, LOCATION_WEIGHT);
+                if (matchOrganizerName) {
+                    score += score(doc.organizerName, term, ORGANIZER_WEIGHT);
+                }
+                if (score == 0) continue;
+            }
+            matches.add(new ScoredCamp(doc, score));
+        }
+
+        // Best score first; ties upcoming-first for forward-looking searches, newest-first otherwise
+        Comparator<ScoredCamp> byDate = Comparator.comparing(m -> m.doc.campDate);
+        if (fromDate == null) {
+            byDate = byDate.reversed();
+        }
+        matches.sort(Comparator.comparingInt((ScoredCamp m) -> -m.score)
+                .thenComparing(byDate)
+                .thenComparing(m -> m.doc.campId));
+
+        List<Long> campIds = new ArrayList<>(matches.size());
+        for (ScoredCamp match : matches) {
+            campIds.add(match.doc.campId);
+        }
+        return campIds;
+    }
+
+    // Postings for the new text first, then the document swap, then the stale postings;
+    // a concurrent search finds the camp throughout and re-checks the text on the document it reads
+    private void index(CampDocument doc) {
+        ensureLoaded();
+        synchronized (this) {
+            Set<String> grams = doc.grams();
+            addPostings(doc.campId, grams);
+            CampDocument previous = documents.put(doc.campId, doc);
+            if (previous != null) {
+                Set<String> staleGrams = previous.grams();
+                staleGrams.removeAll(grams);
+                removePostings(doc.campId, staleGrams);
+            }
+        }
+    }
+
+    private void addPostings(Long campId, Set<String> grams) {
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(campId);
+        }
+    }
+
+    private void removePostings(Long campId, Set<String> grams) {
+        for (String gram : grams) {
+            Set<Long> campIds = postings.get(gram);
+            if (campIds != null) {
+                campIds.remove(campId);
+            }
+        }
+    }
+
+    // Intersect the posting lists of the term's grams, smallest list first
+    private Collection<CampDocument> candidates(String term) {
+        if (term.length() < 3) {
+            // Too short for a trigram: every camp is a candidate, the substring check filters
+            return documents.values();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(term)) {
+            Set<Long> campIds = postings.get(gram);
+            if (campIds == null || campIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            lists.add(campIds);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<CampDocument> candidates = new ArrayList<>();
+        for (Long campId : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(campId);
+            }
+            CampDocument doc = documents.get(campId);
+            if (inAll && doc != null) {
+                candidates.add(doc);
+            }
+        }
+        return candidates;
+    }
+
+    private static int score(String field, String term, int weight) {
+        int position = field.indexOf(term);
+        if (position < 0) return 0;
+
+        int score = weight * 10;
+        if (position == 0) {
+            score += weight * 5;            // field starts with the term
+        } else if (field.charAt(position - 1) == ' ') {
+            score += weight * 3;            // a word starts with the term
+        }
+        if (field.length() == term.length()) {
+            score += weight * 5;            // exact match
+        }
+        return score;
+    }
+
+    private static boolean matchesStatus(CampDocument doc, String status, LocalDate today) {
+        if (status == null || status.isEmpty()) return true;
+        switch (status) {
+            case "today":
+                return doc.campDate.equals(today);
+            case "upcoming":
+                return doc.campDate.isAfter(today);
+            case "completed":
+                return doc.campDate.isBefore(today);
+            default:
+                return true;
+        }
+    }
+
+    private static Set<String> queryGrams(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void addFieldGrams(String field, Set<String> grams) {
+        for (int i = 0; i + 3 <= field.length(); i++) {
+            grams.add(field.substring(i, i + 3));
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            for (CampSummary camp : campRepository.findAllActiveCampSummaries()) {
+                CampDocument doc = new CampDocument(camp.getId(), camp.getCampName(), camp.getLocation(),
+                        camp.getOrganizedBy().getId(), camp.getOrganizedBy().getFullName(), camp.getCampDate());
+                documents.put(doc.campId, doc);
+                addPostings(doc.campId, doc.grams());
+            }
+            loaded = true;
+        }
+    }
+
+    private static class CampDocument {
+        private final Long campId;
+        private final String name;
+        private final String location;
+        private final Long organizerId;
+        private final String organizerName;
+        private final LocalDate campDate;
+
+        CampDocument(Long campId, String name, String location, Long organizerId, String organizerName, LocalDate campDate) {
+            this.campId = campId;
+            this.name = normalize(name);
+            this.location = normalize(location);
+            this.organizerId = organizerId;
+            this.organizerName = normalize(organizerName);
+            this.campDate = campDate;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addFieldGrams(name, grams);
+            addFieldGrams(location, grams);
+            addFieldGrams(organizerName, grams);
+            return grams;
+        }
+    }
+
+    private static class ScoredCamp {
+        private final CampDocument doc;
+        private final int score;
+
+        ScoredCamp(CampDocument doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.repository.CampRegistrationRepository;
+import com.bloodyy.Blood.Donation.web.based.System.service.CampRegistrationBatchWriter.PendingRegistration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory seat ledger for camps with flash registration enabled.
+ * Each camp has its own seat counter, donor set and lock, so sign-up rushes
+ * on different camps never contend. Admitted registrations are queued and written
+ * behind in batches; each camp's ledger is reconciled against camp_registrations
+ * when it is (re)loaded, so a restart drops back to what was actually persisted.
+ * Entries stay counted until their batch commits; a batch that fails is retried one
+ * entry at a time, and entries that keep failing are moved to a dead-letter list.
+ * Database reads and writes never happen while a lock is held.
+ */
+@Component
+public class CampSeatLedger {
+
+    public enum SeatOutcome { ACCEPTED, FULL, ALREADY_REGISTERED }
+
+    private static final int MAX_DEAD_LETTERS = 1000;
+
+    @Value("${app.flash-registration.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.flash-registration.max-write-attempts:5}")
+    private int maxWriteAttempts;
+
+    @Autowired
+    private CampRegistrationRepository campRegistrationRepository;
+
+    @Autowired
+    private CampRegistrationBatchWriter batchWriter;
+
+    @Autowired
+    private CampLiveFeed campLiveFeed;
+
+    private final Map<Long, CampLedger> ledgers = new ConcurrentHashMap<>();
+
+    // Write order of admitted registrations
+    private final ConcurrentLinkedQueue<QueuedRegistration> pending = new ConcurrentLinkedQueue<>();
+
+    // Admitted but not committed yet, whether still queued or in a batch being written
+    private final Set<QueuedRegistration> unwritten = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentLinkedDeque<PendingRegistration> deadLetters = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Admit or reject a donor without touching the database (except to load a camp's ledger the first time)
+     */
+    public SeatOutcome tryReserve(BloodDonationCamp camp, Long donorId) {
+        CampLedger ledger = ledgerOf(camp.getId());
+        while (true) {
+            CampSeats seats = seatsFor(camp, ledger);
+            ledger.lock.readLock().lock();
+            try {
+                if (ledger.seats != seats) {
+                    continue;   // forgotten while we were loading; use the fresh ledger
+                }
+                if (!seats.donors.add(donorId)) {
+                    return SeatOutcome.ALREADY_REGISTERED;
+                }
+                while (true) {
+                    int taken = seats.taken.get();
+                    if (taken >= seats.maxDonors) {
+                        seats.donors.remove(donorId);
+                        return SeatOutcome.FULL;
+                    }
+                    if (seats.taken.compareAndSet(taken, taken + 1)) {
+                        break;
+                    }
+                }
+
+                QueuedRegistration queued = new QueuedRegistration(
+                        new PendingRegistration(camp.getId(), donorId, LocalDateTime.now()));
+                unwritten.add(queued);
+                pending.add(queued);
+                return SeatOutcome.ACCEPTED;
+            } finally {
+                ledger.lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Withdraw a registration that has not been committed yet. Returns false if it was already persisted.
+     * A registration in a batch that is being written is cancelled right after that batch commits.
+     */
+    public boolean cancelPending(Long campId, Long donorId) {
+        CampLedger ledger = ledgers.get(campId);
+        if (ledger == null) return false;
+
+        ledger.lock.readLock().lock();
+        try {
+            for (QueuedRegistration queued : unwritten) {
+                if (queued.isFor(campId, donorId) && queued.cancel()) {
+                    // Still queued: it is never written. Otherwise flush() cancels it once its batch commits
+                    if (pending.remove(queued)) {
+                        unwritten.remove(queued);
+                    }
+                    release(campId, donorId);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            ledger.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Give back a seat after a persisted registration was cancelled
+     */
+    public void release(Long campId, Long donorId) {
+        CampLedger ledger = ledgers.get(campId);
+        CampSeats seats = ledger != null ? ledger.seats : null;
+        if (seats != null && seats.donors.remove(donorId)) {
+            seats.taken.updateAndGet(taken -> Math.max(0, taken - 1));
+        }
+    }
+
+    /**
+     * Drop a camp's ledger so it is reloaded (e.g. after its capacity or mode changed)
+     */
+    public void forget(Long campId) {
+        CampLedger ledger = ledgers.get(campId);
+        if (ledger == null) return;
+
+        ledger.lock.writeLock().lock();
+        try {
+            ledger.seats = null;
+            ledger.version.incrementAndGet();
+        } finally {
+            ledger.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isTracking(Long campId) {
+        CampLedger ledger = ledgers.get(campId);
+        return ledger != null && ledger.seats != null;
+    }
+
+    /**
+     * Registrations that could not be written after the configured number of attempts (newest last)
+     */
+    public List<PendingRegistration> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    @Scheduled(fixedDelayString = "${app.flash-registration.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<QueuedRegistration> retries = new ArrayList<>();
+        while (true) {
+            List<QueuedRegistration> batch = takeBatch();
+            if (batch.isEmpty()) break;
+
+            try {
+                batchWriter.writeRegistrations(registrationsOf(batch));
+                committed(batch);
+            } catch (Exception e) {
+                System.err.println("Error flushing flash registrations, retrying one by one: " + e.getMessage());
+                // Isolate the entries that fail so one bad row does not hold back the rest
+                for (QueuedRegistration queued : batch) {
+                    writeAlone(queued, retries);
+                }
+            }
+        }
+
+        // Failed entries go back on the queue for the next flush, still counted in the ledger
+        for (QueuedRegistration queued : retries) {
+            if (queued.cancelled) {
+                unwritten.remove(queued);
+            } else {
+                pending.add(queued);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            System.err.println("Flash registrations not written at shutdown: " + pending.size());
+        }
+    }
+
+    // Entries stay in the unwritten set while in flight, so the hand-off needs no lock
+    private List<QueuedRegistration> takeBatch() {
+        List<QueuedRegistration> batch = new ArrayList<>(batchSize);
+        QueuedRegistration next;
+        while (batch.size() < batchSize && (next = pending.poll()) != null) {
+            if (next.cancelled) {
+                unwritten.remove(next);   // cancelled after a failed attempt put it back
+                continue;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void writeAlone(QueuedRegistration queued, List<QueuedRegistration> retries) {
+        try {
+            batchWriter.writeRegistrations(List.of(queued.registration));
+            committed(List.of(queued));
+        } catch (Exception e) {
+            queued.attempts++;
+            if (queued.attempts < maxWriteAttempts) {
+                retries.add(queued);
+            } else {
+                deadLetter(queued, e);
+            }
+        }
+    }
+
+    // The rows are in the database now; apply cancellations that arrived while they were being written,
+    // then publish the registered counters that were persisted
+    private void committed(List<QueuedRegistration> batch) {
+        Map<Long, List<QueuedRegistration>> byCamp = new HashMap<>();
+        for (QueuedRegistration queued : batch) {
+            byCamp.computeIfAbsent(queued.registration.getCampId(), id -> new ArrayList<>()).add(queued);
+        }
+        // Leaving the unwritten set and bumping the version is one step for a loader of that camp,
+        // so a load that read the database before this commit sees the entries or reads again
+        for (Map.Entry<Long, List<QueuedRegistration>> camp : byCamp.entrySet()) {
+            CampLedger ledger = ledgerOf(camp.getKey());
+            ledger.lock.readLock().lock();
+            try {
+                unwritten.removeAll(camp.getValue());
+                ledger.version.incrementAndGet();
+            } finally {
+                ledger.lock.readLock().unlock();
+            }
+        }
+
+        Map<Long, Integer> registered = new HashMap<>();
+        List<PendingRegistration> cancelled = new ArrayList<>();
+        for (QueuedRegistration queued : batch) {
+            registered.merge(queued.registration.getCampId(), 1, Integer::sum);
+            if (queued.cancelled) {
+                cancelled.add(queued.registration);
+            }
+        }
+
+        try {
+            batchWriter.cancelRegistrations(cancelled);
+            for (PendingRegistration registration : cancelled) {
+                registered.merge(registration.getCampId(), -1, Integer::sum);
+            }
+        } catch (Exception e) {
+            System.err.println("Error cancelling flushed flash registrations: " + e.getMessage());
+            // Reload the affected camps from what actually reached the database
+            for (PendingRegistration registration : cancelled) {
+                forget(registration.getCampId());
+            }
+        }
+
+        for (Map.Entry<Long, Integer> camp : registered.entrySet()) {
+            campLiveFeed.publish(camp.getKey(), 0, 0, camp.getValue());
+        }
+    }
+
+    private void deadLetter(QueuedRegistration queued, Exception cause) {
+        unwritten.remove(queued);
+        if (queued.cancelled) return;
+
+        PendingRegistration registration = queued.registration;
+        release(registration.getCampId(), registration.getDonorId());
+        deadLetters.addLast(registration);
+        while (deadLetters.size() > MAX_DEAD_LETTERS) {
+            deadLetters.pollFirst();
+        }
+        System.err.println("Dropping flash registration of donor " + registration.getDonorId() + " for camp " +
+                registration.getCampId() + " after " + queued.attempts + " attempts: " + cause.getMessage());
+    }
+
+    private CampLedger ledgerOf(Long campId) {
+        return ledgers.computeIfAbsent(campId, id -> new CampLedger());
+    }
+
+    private CampSeats seatsFor(BloodDonationCamp camp, CampLedger ledger) {
+        CampSeats seats = ledger.seats;
+        if (seats != null) return seats;
+
+        // One caller loads; concurrent callers for the same camp wait for its result instead of querying too
+        CompletableFuture<CampSeats> load = new CompletableFuture<>();
+        CompletableFuture<CampSeats> running = ledger.loading.compareAndExchange(null, load);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            }
+        }
+
+        try {
+            seats = load(camp, ledger);
+            load.complete(seats);
+            return seats;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            ledger.loading.set(null);
+        }
+    }
+
+    // Seed from persisted registrations plus anything not written yet, and repair the stored counter.
+    // The query runs without a lock; if a batch for this camp committed (or the camp was forgotten)
+    // between the query and taking the camp's lock, the version moved and the query is repeated.
+    private CampSeats load(BloodDonationCamp camp, CampLedger ledger) {
+        while (true) {
+            long version = ledger.version.get();
+            if (ledger.seats != null) return ledger.seats;
+            List<Long> persisted = campRegistrationRepository.findActiveDonorIdsByCampId(camp.getId());
+
+            CampSeats seats;
+            ledger.lock.writeLock().lock();
+            try {
+                if (ledger.version.get() != version) {
+                    continue;
+                }
+                Set<Long> donors = ConcurrentHashMap.newKeySet();
+                donors.addAll(persisted);
+                for (QueuedRegistration queued : unwritten) {
+                    if (queued.registration.getCampId().equals(camp.getId()) && !queued.cancelled) {
+                        donors.add(queued.registration.getDonorId());
+                    }
+                }
+                seats = new CampSeats(camp.getMaxDonors(), donors);
+                ledger.seats = seats;
+            } finally {
+                ledger.lock.writeLock().unlock();
+            }
+
+            if (camp.getCurrentDonors() == null || camp.getCurrentDonors() != seats.donors.size()) {
+                batchWriter.syncCurrentDonors(new HashSet<>(List.of(camp.getId())));
+            }
+            return seats;
+        }
+    }
+
+    private static List<PendingRegistration> registrationsOf(List<QueuedRegistration> batch) {
+        List<PendingRegistration> registrations = new ArrayList<>(batch.size());
+        for (QueuedRegistration queued : batch) {
+            registrations.add(queued.registration);
+        }
+        return registrations;
+    }
+
+    private static class CampLedger {
+        // Reservations and commits share the read side; installing freshly loaded seats takes the write side
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicReference<CompletableFuture<CampSeats>> loading = new AtomicReference<>();
+        private volatile CampSeats seats;
+    }
+
+    private static class CampSeats {
+        private final int maxDonors;
+        private final AtomicInteger taken;
+        private final Set<Long> donors;
+
+        CampSeats(int maxDonors, Set<Long> donors) {
+            this.maxDonors = maxDonors;
+            this.taken = new AtomicInteger(donors.size());
+            this.donors = donors;
+        }
+    }
+
+    private static class QueuedRegistration {
+        private final PendingRegistration registration;
+        private int attempts = 0;
+        private volatile boolean cancelled = false;
+
+        QueuedRegistration(PendingRegistration registration) {
+            this.registration = registration;
+        }
+
+        // Only the first of concurrent cancellations wins
+        synchronized boolean cancel() {
+            if (cancelled) return false;
+            cancelled = true;
+            return true;
+        }
+
+        boolean isFor(Long campId, Long donorId) {
+            return registration.getCampId().equals(campId) && registration.getDonorId().equals(donorId);
+        }
+    }
+}
@@ -1,13 +1,27 @@
 // File: DonationEligibilityService.java
 package com.bloodyy.Blood.Donation.web.based.System.service;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.DonorSnapshot;
 import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorEligibility;
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
 import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonorEligibilityRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,35 +30,96 @@ public class DonationEligibilityService {
     @Autowired
     private DonationRepository donationRepository;
 
-    private static final int DONATION_COOLDOWN_MONTHS = 6;
+    @Autowired
+    private DonorEligibilityRepository donorEligibilityRepository;
+
+    @Autowired
+    private EligibilityRuleEngine eligibilityRuleEngine;
+
+    private static final int MAX_CACHED_SNAPSHOTS = 10000;
+    private static final int BATCH_QUERY_SIZE = 1000;
+
+    @Value("${app.donation.eligibility-snapshot-ttl-seconds:300}")
+    private long snapshotTtlSeconds;
+
+    // donorId -> snapshot, least recently used dropped first; invalidated by DonorEligibilityObserver
+    private final Map<Long, CachedSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSnapshot> eldest) {
+            return size() > MAX_CACHED_SNAPSHOTS;
+        }
+    };
+
+    // Bumped by every invalidation; a load that started before one is not cached
+    private long snapshotGeneration = 0;
 
     /**
-     * Check if a donor is eligible to register for new camps based on recent donations
+     * Last camp donation and next eligible date for a donor, loaded once and cached for a while
      */
-    public boolean isDonorEligibleForNewRegistration(Long donorId) {
+    public EligibilitySnapshot getSnapshot(Long donorId) {
+        long loadGeneration;
+        synchronized (snapshots) {
+            EligibilitySnapshot snapshot = cachedSnapshot(donorId);
+            if (snapshot != null) {
+                return snapshot;
+            }
+            loadGeneration = snapshotGeneration;
+        }
+
         Optional<Donation> lastCampDonation = donationRepository.findLastCampDonationByUserId(donorId);
+        LocalDate lastDonationDate = lastCampDonation.map(Donation::getDonationDate).orElse(null);
+        EligibilitySnapshot snapshot = new EligibilitySnapshot(lastDonationDate,
+                eligibilityRuleEngine.nextCampDateAfter(lastDonationDate));
 
-        if (lastCampDonation.isEmpty()) {
-            return true; // No previous camp donations, eligible
+        synchronized (snapshots) {
+            cacheSnapshot(donorId, snapshot, loadGeneration);
         }
+        return snapshot;
+    }
 
-        LocalDate lastDonationDate = lastCampDonation.get().getDonationDate();
-        LocalDate nextEligibleDate = lastDonationDate.plusMonths(DONATION_COOLDOWN_MONTHS);
+    /**
+     * Forget a donor's snapshot after their donation history changed
+     */
+    public void invalidateSnapshot(Long donorId) {
+        synchronized (snapshots) {
+            snapshotGeneration++;
+            snapshots.remove(donorId);
+        }
+    }
+
+    // Callers hold the snapshots lock
+    private EligibilitySnapshot cachedSnapshot(Long donorId) {
+        CachedSnapshot cached = snapshots.get(donorId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            snapshots.remove(donorId);
+            return null;
+        }
+        return cached.snapshot;
+    }
+
+    // Callers hold the snapshots lock
+    private void cacheSnapshot(Long donorId, EligibilitySnapshot snapshot, long loadGeneration) {
+        if (snapshotGeneration == loadGeneration) {
+            snapshots.put(donorId, new CachedSnapshot(snapshot, System.currentTimeMillis() + snapshotTtlSeconds * 1000));
+        }
+    }
 
-        return LocalDate.now().isAfter(nextEligibleDate) || LocalDate.now().equals(nextEligibleDate);
+    /**
+     * Check if a donor is eligible to register for new camps based on recent donations
+     */
+    public boolean isDonorEligibleForNewRegistration(Long donorId) {
+        return getSnapshot(donorId).isEligibleOn(LocalDate.now());
     }
 
     /**
      * Get the date when donor becomes eligible again
      */
     public LocalDate getNextEligibilityDate(Long donorId) {
-        Optional<Donation> lastCampDonation = donationRepository.findLastCampDonationByUserId(donorId);
-
-        if (lastCampDonation.isEmpty()) {
-            return LocalDate.now(); // Eligible immediately
-        }
-
-        return lastCampDonation.get().getDonationDate().plusMonths(DONATION_COOLDOWN_MONTHS);
+        LocalDate nextEligibleDate = getSnapshot(donorId).getNextEligibleDate();
+        return nextEligibleDate != null ? nextEligibleDate : LocalDate.now(); // Eligible immediately
     }
 
     /**
@@ -59,9 +134,59 @@ public class DonationEligibilityService {
      * Check eligibility with detailed response
      */
     public DonationEligibility checkDonationEligibility(Long donorId) {
-        boolean isEligible = isDonorEligibleForNewRegistration(donorId);
-        LocalDate nextEligibleDate = getNextEligibilityDate(donorId);
-        long daysRemaining = getDaysUntilEligible(donorId);
+        return toEligibility(getSnapshot(donorId), LocalDate.now());
+    }
+
+    /**
+     * Check eligibility for many donors at once (rosters, attendance desk).
+     * Cached snapshots are reused; the rest are loaded with one grouped query per 1000 donors.
+     */
+    public Map<Long, DonationEligibility> checkDonationEligibility(Collection<Long> donorIds) {
+        Map<Long, EligibilitySnapshot> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (snapshots) {
+            for (Long donorId : new LinkedHashSet<>(donorIds)) {
+                EligibilitySnapshot snapshot = cachedSnapshot(donorId);
+                if (snapshot != null) {
+                    found.put(donorId, snapshot);
+                } else {
+                    missing.add(donorId);
+                }
+            }
+            loadGeneration = snapshotGeneration;
+        }
+
+        for (int from = 0; from < missing.size(); from += BATCH_QUERY_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + BATCH_QUERY_SIZE, missing.size()));
+            Map<Long, LocalDate> lastDates = new HashMap<>();
+            for (Object[] row : donationRepository.findLastCampDonationDatesByUserIds(chunk)) {
+                lastDates.put((Long) row[0], (LocalDate) row[1]);
+            }
+
+            synchronized (snapshots) {
+                for (Long donorId : chunk) {
+                    LocalDate lastDonationDate = lastDates.get(donorId);
+                    EligibilitySnapshot snapshot = new EligibilitySnapshot(lastDonationDate,
+                            eligibilityRuleEngine.nextCampDateAfter(lastDonationDate));
+                    cacheSnapshot(donorId, snapshot, loadGeneration);
+                    found.put(donorId, snapshot);
+                }
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<Long, DonationEligibility> eligibility = new LinkedHashMap<>();
+        for (Long donorId : donorIds) {
+            eligibility.put(donorId, toEligibility(found.get(donorId), today));
+        }
+        return eligibility;
+    }
+
+    private DonationEligibility toEligibility(EligibilitySnapshot snapshot, LocalDate today) {
+        boolean isEligible = snapshot.isEligibleOn(today);
+        LocalDate nextEligibleDate = snapshot.getNextEligibleDate() != null ? snapshot.getNextEligibleDate() : today;
+        long daysRemaining = Math.max(0, java.time.temporal.ChronoUnit.DAYS.between(today, nextEligibleDate));
 
         String message;
         if (isEligible) {
@@ -74,6 +199,129 @@ public class DonationEligibilityService {
         return new DonationEligibility(isEligible, message, nextEligibleDate, daysRemaining);
     }
 
+    // =============================================
+    // FULL RULE EVALUATION (role, verification, age, cooldowns)
+    // =============================================
+
+    /**
+     * Evaluate all configured rules for one donor
+     */
+    public EligibilityRuleEngine.EligibilityDecision evaluateDonor(Long donorId, EligibilityRuleEngine.Purpose purpose) {
+        Map<Long, EligibilityRuleEngine.EligibilityDecision> decisions = evaluateDonors(List.of(donorId), purpose);
+        return decisions.get(donorId);
+    }
+
+    /**
+     * Camp registration gate shared by every registration path; the message lists all failed rules
+     */
+    public void requireCampRegistrationEligibility(Long donorId) throws Exception {
+        EligibilityRuleEngine.EligibilityDecision decision =
+                evaluateDonor(donorId, EligibilityRuleEngine.Purpose.CAMP_REGISTRATION);
+        if (decision == null) {
+            throw new Exception("Donor not found");
+        }
+        if (!decision.isEligible()) {
+            throw new Exception(describe(decision));
+        }
+    }
+
+    /**
+     * Failed rules of a decision as one message, with the next eligible date when it is in the future
+     */
+    public static String describe(EligibilityRuleEngine.EligibilityDecision decision) {
+        String message = String.join("; ", decision.getReasons());
+        if (decision.getNextEligibleDate() != null && decision.getNextEligibleDate().isAfter(LocalDate.now())) {
+            message += ". Next eligible date: " + decision.getNextEligibleDate();
+        }
+        return message;
+    }
+
+    /**
+     * Evaluate many donors; snapshots are loaded with one grouped query per 1000 donors.
+     * Unknown ids are left out of the result.
+     */
+    public Map<Long, EligibilityRuleEngine.EligibilityDecision> evaluateDonors(Collection<Long> donorIds,
+                                                                             EligibilityRuleEngine.Purpose purpose) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(donorIds));
+        List<DonorSnapshot> donors = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += BATCH_QUERY_SIZE) {
+            donors.addAll(donationRepository.findDonorSnapshots(ids.subList(from, Math.min(from + BATCH_QUERY_SIZE, ids.size()))));
+        }
+        return eligibilityRuleEngine.evaluateAll(donors, purpose, LocalDate.now());
+    }
+
+    // =============================================
+    // BULK QUERIES OVER THE MATERIALIZED donor_eligibility TABLE
+    // =============================================
+
+    /**
+     * Verified donors who can register for camps on the given date
+     */
+    public List<User> getDonorsEligibleOn(LocalDate date) {
+        return donorEligibilityRepository.findVerifiedDonorsEligibleOn(date);
+    }
+
+    /**
+     * Donors whose cooldown ends between the two dates (inclusive), soonest first
+     */
+    public List<DonorEligibility> getDonorsBecomingEligibleBetween(LocalDate from, LocalDate to) {
+        return donorEligibilityRepository.findByNextEligibleDateBetweenOrderByNextEligibleDate(from, to);
+    }
+
+    public long countDonorsInCooldown() {
+        return donorEligibilityRepository.countByNextEligibleDateAfter(LocalDate.now());
+    }
+
+    /**
+     * Populate donor_eligibility on first start, before the range lookups are used
+     */
+    @PostConstruct
+    public void backfillDonorEligibility() {
+        if (donorEligibilityRepository.count() == 0) {
+            rebuildDonorEligibility();
+        }
+    }
+
+    /**
+     * Recompute donor_eligibility from the donations table (nightly, and after bulk imports)
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    @Transactional
+    public void rebuildDonorEligibility() {
+        int upserted = donorEligibilityRepository.upsertAllFromDonations(eligibilityRuleEngine.getCampCooldownMonths());
+        int removed = donorEligibilityRepository.deleteWithoutCampDonations();
+        System.out.println("Donor eligibility rebuilt: " + upserted + " upserted, " + removed + " removed");
+    }
+
+    private static class CachedSnapshot {
+        private final EligibilitySnapshot snapshot;
+        private final long expiresAt;
+
+        CachedSnapshot(EligibilitySnapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Cached per-donor state; eligibility is evaluated against "today" at read time
+    public static class EligibilitySnapshot {
+        private final LocalDate lastCampDonationDate;
+        private final LocalDate nextEligibleDate;
+
+        public EligibilitySnapshot(LocalDate lastCampDonationDate, LocalDate nextEligibleDate) {
+            this.lastCampDonationDate = lastCampDonationDate;
+            this.nextEligibleDate = nextEligibleDate;
+        }
+
+        public boolean isEligibleOn(LocalDate date) {
+            return nextEligibleDate == null || !date.isBefore(nextEligibleDate);
+        }
+
+        // Getters
+        public LocalDate getLastCampDonationDate() { return lastCampDonationDate; }
+        public LocalDate getNextEligibleDate() { return nextEligibleDate; }
+    }
+
     // Inner class for detailed eligibility response
     public static class DonationEligibility {
         private final boolean eligible;
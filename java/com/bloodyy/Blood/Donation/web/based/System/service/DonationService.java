@@ -1,25 +1,159 @@
 package com.bloodyy.Blood.Donation.web.based.System.service;
 
+import com.bloodyy.Blood.Donation.web.based.System.dto.DonorDonationSummary;
 import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
 import com.bloodyy.Blood.Donation.web.based.System.entity.Donation;
+import com.bloodyy.Blood.Donation.web.based.System.entity.DonorDonationStats;
 import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonationObserver;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonationRollupObserver;
+import com.bloodyy.Blood.Donation.web.based.System.observer.DonationSubject;
 import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonationRollupRepository;
+import com.bloodyy.Blood.Donation.web.based.System.repository.DonorDonationStatsRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Service
-public class DonationService {
+public class DonationService implements DonationSubject {
 
     @Autowired
     private DonationRepository donationRepository;
 
+    @Autowired
+    private DonationRollupRepository donationRollupRepository;
+
+    @Autowired
+    private DonorDonationStatsRepository donorDonationStatsRepository;
+
+    @Autowired
+    private EligibilityRuleEngine eligibilityRuleEngine;
+
+    private final List<DonationObserver> observers = new CopyOnWriteArrayList<>();
+
+    private static final int MAX_CACHED_SUMMARIES = 5000;
+
+    @Value("${app.donation.summary-cache-seconds:30}")
+    private long summaryCacheSeconds;
+
+    // userId -> short-lived aggregate for the donor dashboard; dropped on any change to the donor's donations
+    private final Map<Long, CachedSummary> summaryCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedSummary> eldest) {
+            return size() > MAX_CACHED_SUMMARIES;
+        }
+    };
+
+    // =============================================
+    // OBSERVER PATTERN METHODS
+    // =============================================
+    // Observers run inside the caller's transaction and keep the read models in step with it:
+    // an observer failure propagates and rolls the donation change back with them.
+
+    @Override
+    public void registerObserver(DonationObserver observer) {
+        observers.add(observer);
+        System.out.println("Donation observer registered: " + observer.getObserverType());
+    }
+
+    @Override
+    public void removeObserver(DonationObserver observer) {
+        observers.remove(observer);
+        System.out.println("Donation observer removed: " + observer.getObserverType());
+    }
+
+    @Override
+    public List<String> getRegisteredObservers() {
+        return observers.stream()
+                .map(DonationObserver::getObserverType)
+                .collect(Collectors.toList());
+    }
+
+    private void notifyDonationRecorded(Donation donation) {
+        evictDonationSummaryAfterCommit(donation.getUser().getId());
+        for (DonationObserver observer : observers) {
+            observer.onDonationRecorded(donation);
+        }
+    }
+
+    private void notifyDonationUpdated(Donation donation, LocalDate previousDate) {
+        evictDonationSummaryAfterCommit(donation.getUser().getId());
+        for (DonationObserver observer : observers) {
+            observer.onDonationUpdated(donation, previousDate);
+        }
+    }
+
+    private void notifyDonationDeleted(Donation donation) {
+        evictDonationSummaryAfterCommit(donation.getUser().getId());
+        for (DonationObserver observer : observers) {
+            observer.onDonationDeleted(donation);
+        }
+    }
+
+    // =============================================
+    // DONOR SUMMARY (one aggregate query, briefly cached)
+    // =============================================
+
+    /**
+     * Counts and latest donation dates for a donor
+     */
+    public DonorDonationSummary getDonationSummary(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (summaryCache) {
+            CachedSummary cached = summaryCache.get(userId);
+            if (cached != null && cached.expiresAt > now) {
+                return cached.summary;
+            }
+        }
+
+        DonorDonationSummary summary = donationRepository.getDonationSummary(userId);
+        if (summaryCacheSeconds > 0) {
+            synchronized (summaryCache) {
+                summaryCache.put(userId, new CachedSummary(summary, now + summaryCacheSeconds * 1000));
+            }
+        }
+        return summary;
+    }
+
+    // Evict once the change is committed, so a concurrent read cannot re-cache the old totals
+    private void evictDonationSummaryAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictDonationSummary(userId);
+                }
+            });
+        } else {
+            evictDonationSummary(userId);
+        }
+    }
+
+    private void evictDonationSummary(Long userId) {
+        synchronized (summaryCache) {
+            summaryCache.remove(userId);
+        }
+    }
+
     /**
      * Get all donations for a specific user
      */
@@ -31,10 +165,7 @@ public class DonationService {
      * Get recent donations for a user with limit
      */
     public List<Donation> getRecentDonationsByUserId(Long userId, int limit) {
-        List<Donation> allDonations = getDonationsByUserId(userId);
-        return allDonations.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        return donationRepository.findByUserIdOrderByDonationDateDesc(userId, Limit.of(limit));
     }
 
     /**
@@ -96,6 +227,7 @@ public class DonationService {
     /**
      * Create a new regular donation record
      */
+    @Transactional
     public Donation createRegularDonation(User user, LocalDate donationDate) {
         Donation donation = new Donation();
         donation.setUser(user);
@@ -104,21 +236,45 @@ public class DonationService {
         donation.setCamp(null);
         donation.setRecordedByVolunteerId(null);
 
-        return donationRepository.save(donation);
+        Donation savedDonation = donationRepository.save(donation);
+        notifyDonationRecorded(savedDonation);
+        return savedDonation;
     }
 
     /**
      * Create a new camp donation record
      */
+    @Transactional
     public Donation createCampDonation(User user, BloodDonationCamp camp, User volunteer) {
+        return createCampDonation(user, camp, volunteer, LocalDate.now());
+    }
+
+    /**
+     * Create the camp donation unless the donor already has one for this camp (outbox retries)
+     */
+    @Transactional
+    public Donation createCampDonationIfAbsent(User user, BloodDonationCamp camp, User volunteer, LocalDate donationDate) {
+        if (donationRepository.existsByUserIdAndCampId(user.getId(), camp.getId())) {
+            return null;
+        }
+        return createCampDonation(user, camp, volunteer, donationDate);
+    }
+
+    /**
+     * Create a camp donation record dated when it happened (journal replay)
+     */
+    @Transactional
+    public Donation createCampDonation(User user, BloodDonationCamp camp, User volunteer, LocalDate donationDate) {
         Donation donation = new Donation();
         donation.setUser(user);
-        donation.setDonationDate(LocalDate.now());
+        donation.setDonationDate(donationDate);
         donation.setIsCampDonation(true);
         donation.setCamp(camp);
         donation.setRecordedByVolunteerId(volunteer.getId());
 
-        return donationRepository.save(donation);
+        Donation savedDonation = donationRepository.save(donation);
+        notifyDonationRecorded(savedDonation);
+        return savedDonation;
     }
 
     /**
@@ -131,7 +287,7 @@ public class DonationService {
     }
 
     /**
-     * Check if user is eligible for camp registration based on 6-month restriction
+     * Check if user is eligible for camp registration based on the camp cooldown
      */
     public boolean isEligibleForCampRegistration(Long userId) {
         Optional<Donation> lastCampDonation = donationRepository.findLastCampDonationByUserId(userId);
@@ -141,7 +297,7 @@ public class DonationService {
         }
 
         LocalDate lastDonationDate = lastCampDonation.get().getDonationDate();
-        LocalDate nextEligibleDate = lastDonationDate.plusMonths(6);
+        LocalDate nextEligibleDate = eligibilityRuleEngine.nextCampDateAfter(lastDonationDate);
 
         return LocalDate.now().isAfter(nextEligibleDate) || LocalDate.now().equals(nextEligibleDate);
     }
@@ -156,7 +312,7 @@ public class DonationService {
             return LocalDate.now(); // Eligible immediately
         }
 
-        return lastCampDonation.get().getDonationDate().plusMonths(6);
+        return eligibilityRuleEngine.nextCampDateAfter(lastCampDonation.get().getDonationDate());
     }
 
     /**
@@ -171,20 +327,21 @@ public class DonationService {
      * Get donation statistics for a user
      */
     public DonationStatistics getDonationStatistics(Long userId) {
-        long totalDonations = getTotalDonations(userId);
-        long totalCampDonations = getTotalCampDonations(userId);
-        long totalRegularDonations = totalDonations - totalCampDonations;
-        LocalDate lastDonationDate = getLastDonationDate(userId);
-        LocalDate lastCampDonationDate = getLastCampDonationDate(userId);
-        boolean eligibleForCamps = isEligibleForCampRegistration(userId);
-        LocalDate nextCampEligibilityDate = getNextCampEligibilityDate(userId);
-        long daysUntilCampEligible = getDaysUntilCampEligible(userId);
+        DonorDonationSummary summary = getDonationSummary(userId);
+        LocalDate today = LocalDate.now();
+
+        // Same camp cooldown as isEligibleForCampRegistration, from the summary's last camp date
+        LocalDate lastCampDonationDate = summary.getLastCampDonationDate();
+        LocalDate nextCampEligibilityDate = lastCampDonationDate != null
+                ? eligibilityRuleEngine.nextCampDateAfter(lastCampDonationDate) : today;
+        boolean eligibleForCamps = !today.isBefore(nextCampEligibilityDate);
+        long daysUntilCampEligible = Math.max(0, java.time.temporal.ChronoUnit.DAYS.between(today, nextCampEligibilityDate));
 
         return new DonationStatistics(
-                totalDonations,
-                totalCampDonations,
-                totalRegularDonations,
-                lastDonationDate,
+                summary.getTotalDonations(),
+                summary.getCampDonations(),
+                summary.getRegularDonations(),
+                summary.getLastDonationDate(),
                 lastCampDonationDate,
                 eligibleForCamps,
                 nextCampEligibilityDate,
@@ -212,44 +369,42 @@ public class DonationService {
      * Get donations within a date range
      */
     public List<Donation> getDonationsByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<Donation> allDonations = getDonationsByUserId(userId);
-        return allDonations.stream()
-                .filter(donation -> !donation.getDonationDate().isBefore(startDate) &&
-                        !donation.getDonationDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        return donationRepository.findByUserIdAndDonationDateBetweenOrderByDonationDateDesc(userId, startDate, endDate);
     }
 
     /**
      * Get donations by type (camp or regular)
      */
     public List<Donation> getDonationsByType(Long userId, boolean isCampDonation) {
-        List<Donation> allDonations = getDonationsByUserId(userId);
-        return allDonations.stream()
-                .filter(donation -> donation.getIsCampDonation() == isCampDonation)
-                .collect(Collectors.toList());
+        return donationRepository.findByUserIdAndIsCampDonationOrderByDonationDateDesc(userId, isCampDonation);
     }
 
     /**
      * Get donation frequency statistics
      */
     public DonationFrequency getDonationFrequency(Long userId) {
-        List<Donation> allDonations = getDonationsByUserId(userId);
+        // Running stats row kept by DonorDonationStatsObserver, no history scan
+        DonorDonationStats stats = donorDonationStatsRepository.findById(userId).orElse(null);
+
+        long donationCount;
+        long totalDaysBetween;
+        if (stats != null) {
+            donationCount = stats.getDonationCount();
+            totalDaysBetween = stats.getSumIntervalDays();
+        } else {
+            // No row yet (e.g. not backfilled): one aggregate over the donor's donations instead
+            List<Object[]> rows = donorDonationStatsRepository.aggregateDonations(userId);
+            Object[] row = rows.isEmpty() ? null : rows.get(0);
+            donationCount = row != null && row[0] != null ? ((Number) row[0]).longValue() : 0;
+            totalDaysBetween = donationCount > 0 ? java.time.temporal.ChronoUnit.DAYS.between((LocalDate) row[1], (LocalDate) row[2]) : 0;
+        }
 
-        if (allDonations.isEmpty()) {
+        if (donationCount == 0) {
             return new DonationFrequency(0, 0, 0, "No donations yet");
         }
 
         // Calculate average days between donations
-        long totalDaysBetween = 0;
-        int intervals = 0;
-
-        for (int i = 0; i < allDonations.size() - 1; i++) {
-            LocalDate date1 = allDonations.get(i).getDonationDate();
-            LocalDate date2 = allDonations.get(i + 1).getDonationDate();
-            long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(date2, date1);
-            totalDaysBetween += daysBetween;
-            intervals++;
-        }
+        long intervals = donationCount - 1;
 
         double averageDaysBetween = intervals > 0 ? (double) totalDaysBetween / intervals : 0;
 
@@ -264,7 +419,7 @@ public class DonationService {
         }
 
         return new DonationFrequency(
-                allDonations.size(),
+                donationCount,
                 intervals,
                 (long) averageDaysBetween,
                 frequencyCategory
@@ -275,10 +430,11 @@ public class DonationService {
      * Get donation impact summary
      */
     public DonationImpact getDonationImpact(Long userId) {
-        long totalDonations = getTotalDonations(userId);
+        DonorDonationSummary summary = getDonationSummary(userId);
+        long totalDonations = summary.getTotalDonations();
         long livesPotentiallySaved = totalDonations * 3; // Each donation can save up to 3 lives
-        long campDonations = getTotalCampDonations(userId);
-        long regularDonations = totalDonations - campDonations;
+        long campDonations = summary.getCampDonations();
+        long regularDonations = summary.getRegularDonations();
 
         return new DonationImpact(
                 totalDonations,
@@ -299,7 +455,7 @@ public class DonationService {
         }
 
         LocalDate lastDonationDate = lastDonation.getDonationDate();
-        LocalDate nextEligibleDate = lastDonationDate.plusDays(90); // 3 months for regular donations
+        LocalDate nextEligibleDate = eligibilityRuleEngine.nextDonationDateAfter(lastDonationDate); // app.donation.eligibility-period-days
         boolean isEligible = LocalDate.now().isAfter(nextEligibleDate) || LocalDate.now().equals(nextEligibleDate);
 
         String message;
@@ -317,17 +473,18 @@ public class DonationService {
     /**
      * Delete a donation record (admin function)
      */
+    @Transactional(rollbackFor = Exception.class)
     public boolean deleteDonation(Long donationId, User adminUser) throws Exception {
         if (!"SYSTEM_ADMIN".equals(adminUser.getUser_type())) {
             throw new Exception("Only system administrators can delete donation records");
         }
 
-        if (!donationRepository.existsById(donationId)) {
-            throw new Exception("Donation record not found");
-        }
+        Donation donation = donationRepository.findById(donationId)
+                .orElseThrow(() -> new Exception("Donation record not found"));
 
         try {
-            donationRepository.deleteById(donationId);
+            donationRepository.delete(donation);
+            notifyDonationDeleted(donation);
             return true;
         } catch (Exception e) {
             throw new Exception("Failed to delete donation record: " + e.getMessage());
@@ -337,6 +494,7 @@ public class DonationService {
     /**
      * Update donation record (admin function)
      */
+    @Transactional(rollbackFor = Exception.class)
     public Donation updateDonation(Long donationId, LocalDate newDate, User adminUser) throws Exception {
         if (!"SYSTEM_ADMIN".equals(adminUser.getUser_type())) {
             throw new Exception("Only system administrators can update donation records");
@@ -345,35 +503,37 @@ public class DonationService {
         Donation donation = donationRepository.findById(donationId)
                 .orElseThrow(() -> new Exception("Donation record not found"));
 
+        LocalDate previousDate = donation.getDonationDate();
         donation.setDonationDate(newDate);
 
-        return donationRepository.save(donation);
+        Donation savedDonation = donationRepository.save(donation);
+        notifyDonationUpdated(savedDonation, previousDate);
+        return savedDonation;
     }
 
     /**
      * Get donation analytics for reporting
      */
     public DonationAnalytics getDonationAnalytics(LocalDate startDate, LocalDate endDate) {
-        List<Donation> allDonations = donationRepository.findAll();
-
-        List<Donation> donationsInPeriod = allDonations.stream()
-                .filter(donation -> !donation.getDonationDate().isBefore(startDate) &&
-                        !donation.getDonationDate().isAfter(endDate))
-                .collect(Collectors.toList());
-
-        long totalDonations = donationsInPeriod.size();
-        long campDonations = donationsInPeriod.stream()
-                .filter(Donation::getIsCampDonation)
-                .count();
+        // Whole months come from the rollup, partial edge months from a grouped query on donations
+        long totalDonations = 0;
+        long campDonations = 0;
+        Map<String, Long> monthlyTrend = new LinkedHashMap<>();
+
+        for (Object[] row : countDonationsByMonthAndType(startDate, endDate)) {
+            int year = ((Number) row[0]).intValue();
+            int month = ((Number) row[1]).intValue();
+            long count = ((Number) row[3]).longValue();
+
+            totalDonations += count;
+            if (Boolean.TRUE.equals(row[2])) {
+                campDonations += count;
+            }
+            // Same "MONTH YEAR" key as before, e.g. "JANUARY 2025"
+            monthlyTrend.merge(java.time.Month.of(month).toString() + " " + year, count, Long::sum);
+        }
         long regularDonations = totalDonations - campDonations;
 
-        // Group by month for trend analysis
-        Map<String, Long> monthlyTrend = donationsInPeriod.stream()
-                .collect(Collectors.groupingBy(
-                        donation -> donation.getDonationDate().getMonth().toString() + " " + donation.getDonationDate().getYear(),
-                        Collectors.counting()
-                ));
-
         return new DonationAnalytics(
                 totalDonations,
                 campDonations,
@@ -384,8 +544,109 @@ public class DonationService {
         );
     }
 
+    // =============================================
+    // MONTHLY ROLLUP
+    // =============================================
+
+    /**
+     * Donations per camp in the given months (inclusive), from the rollup
+     */
+    public Map<Long, Long> getDonationCountsByCamp(YearMonth from, YearMonth to) {
+        return toCountMap(donationRollupRepository.sumByCamp(toMonth(from), toMonth(to)));
+    }
+
+    /**
+     * Camp donations per recording volunteer in the given months (inclusive), from the rollup
+     */
+    public Map<Long, Long> getDonationCountsByVolunteer(YearMonth from, YearMonth to) {
+        return toCountMap(donationRollupRepository.sumByVolunteer(toMonth(from), toMonth(to)));
+    }
+
+    /**
+     * Fill the read models on first start, before the reporting methods read them
+     */
+    @PostConstruct
+    public void backfillReadModels() {
+        if (donationRollupRepository.count() == 0) {
+            rebuildDonationRollup();
+        }
+        if (donorDonationStatsRepository.count() == 0) {
+            rebuildDonorDonationStats();
+        }
+    }
+
+    /**
+     * Recompute the rollup from the donations table (backfill, and nightly to repair any drift)
+     */
+    @Scheduled(cron = "0 45 2 * * *")
+    @Transactional
+    public int rebuildDonationRollup() {
+        donationRollupRepository.deleteAllCells();
+        int cells = donationRollupRepository.insertAllFromDonations();
+        System.out.println("Donation rollup rebuilt: " + cells + " cells");
+        return cells;
+    }
+
+    /**
+     * Recompute donor_donation_stats from the donations table (backfill / repair)
+     */
+    @Transactional
+    public int rebuildDonorDonationStats() {
+        int upserted = donorDonationStatsRepository.upsertAllFromDonations();
+        int removed = donorDonationStatsRepository.deleteWithoutDonations();
+        System.out.println("Donor donation stats rebuilt: " + upserted + " upserted, " + removed + " removed");
+        return upserted;
+    }
+
+    // Rows are year, month, isCampDonation, count in chronological order
+    private List<Object[]> countDonationsByMonthAndType(LocalDate startDate, LocalDate endDate) {
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            return donationRepository.countDonationsByMonthAndType(startDate, endDate);
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        if (startDate.isBefore(firstFullMonth.atDay(1))) {
+            rows.addAll(donationRepository.countDonationsByMonthAndType(startDate, firstFullMonth.atDay(1).minusDays(1)));
+        }
+        for (Object[] row : donationRollupRepository.sumByMonthAndType(toMonth(firstFullMonth), toMonth(lastFullMonth))) {
+            int donationMonth = ((Number) row[0]).intValue();
+            rows.add(new Object[]{donationMonth / 100, donationMonth % 100, row[1], row[2]});
+        }
+        if (endDate.isAfter(lastFullMonth.atEndOfMonth())) {
+            rows.addAll(donationRepository.countDonationsByMonthAndType(lastFullMonth.atEndOfMonth().plusDays(1), endDate));
+        }
+        return rows;
+    }
+
+    private static int toMonth(YearMonth month) {
+        return DonationRollupObserver.toMonth(month.atDay(1));
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     // INNER CLASSES FOR DATA TRANSFER
 
+    private static class CachedSummary {
+        private final DonorDonationSummary summary;
+        private final long expiresAt;
+
+        CachedSummary(DonorDonationSummary summary, long expiresAt) {
+            this.summary = summary;
+            this.expiresAt = expiresAt;
+        }
+    }
+
     public static class DonationStatistics {
         private final long totalDonations;
         private final long totalCampDonations;
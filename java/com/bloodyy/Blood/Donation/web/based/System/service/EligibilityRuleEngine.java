@@ -0,0 +1,168 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.dto.DonorSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Donation eligibility rules built once from the app.donation.* properties.
+ * Each purpose gets its own rule list at startup, and evaluation runs over a preloaded
+ * DonorSnapshot with no database access, so thousands of donors can be checked per batch.
+ * All cooldown date arithmetic in the services goes through here.
+ */
+@Component
+public class EligibilityRuleEngine {
+
+    public enum Purpose {
+        DONATION,           // donating blood again (any donation restarts the interval)
+        CAMP_REGISTRATION   // registering for a camp (camp donations restart the cooldown)
+    }
+
+    @Value("${app.donation.eligibility-period-days:90}")
+    private int eligibilityPeriodDays;
+
+    @Value("${app.donation.camp-cooldown-months:6}")
+    private int campCooldownMonths;
+
+    @Value("${app.donation.min-age:18}")
+    private int minAge;
+
+    @Value("${app.donation.max-age:65}")
+    private int maxAge;
+
+    private final Map<Purpose, Rule[]> rulesByPurpose = new EnumMap<>(Purpose.class);
+
+    @PostConstruct
+    public void compile() {
+        List<Rule> common = new ArrayList<>();
+        common.add((donor, date) -> "DONOR".equals(donor.getUserType()) ? null : "Only donors can donate blood");
+        common.add((donor, date) -> Boolean.TRUE.equals(donor.getIsVerified()) ? null : "Donor account is not verified yet");
+        if (minAge > 0 || maxAge > 0) {
+            common.add(this::checkAge);
+        }
+
+        List<Rule> donation = new ArrayList<>(common);
+        if (eligibilityPeriodDays > 0) {
+            donation.add((donor, date) -> cooldown(nextDonationDateAfter(donor.getLastDonationDate()), date,
+                    "Minimum interval since last donation not reached"));
+        }
+
+        List<Rule> campRegistration = new ArrayList<>(common);
+        if (campCooldownMonths > 0) {
+            campRegistration.add((donor, date) -> cooldown(nextCampDateAfter(donor.getLastCampDonationDate()), date,
+                    "Recent camp donation"));
+        }
+
+        rulesByPurpose.put(Purpose.DONATION, donation.toArray(new Rule[0]));
+        rulesByPurpose.put(Purpose.CAMP_REGISTRATION, campRegistration.toArray(new Rule[0]));
+
+        System.out.println("Eligibility rules compiled: interval " + eligibilityPeriodDays + " days, camp cooldown "
+                + campCooldownMonths + " months, age " + minAge + "-" + maxAge);
+    }
+
+    /**
+     * Evaluate every rule for the purpose; all failures are reported, not just the first
+     */
+    public EligibilityDecision evaluate(DonorSnapshot donor, Purpose purpose, LocalDate date) {
+        List<String> reasons = new ArrayList<>();
+        for (Rule rule : rulesByPurpose.get(purpose)) {
+            String reason = rule.check(donor, date);
+            if (reason != null) {
+                reasons.add(reason);
+            }
+        }
+
+        LocalDate nextEligibleDate = purpose == Purpose.DONATION
+                ? nextDonationDateAfter(donor.getLastDonationDate())
+                : nextCampDateAfter(donor.getLastCampDonationDate());
+        if (nextEligibleDate == null || nextEligibleDate.isBefore(date)) {
+            nextEligibleDate = date;
+        }
+        return new EligibilityDecision(donor.getUserId(), reasons.isEmpty(), reasons, nextEligibleDate);
+    }
+
+    /**
+     * Evaluate many preloaded donors against the same compiled rule list
+     */
+    public Map<Long, EligibilityDecision> evaluateAll(Collection<DonorSnapshot> donors, Purpose purpose, LocalDate date) {
+        Map<Long, EligibilityDecision> decisions = new LinkedHashMap<>();
+        for (DonorSnapshot donor : donors) {
+            decisions.put(donor.getUserId(), evaluate(donor, purpose, date));
+        }
+        return decisions;
+    }
+
+    /**
+     * Date a donor may donate again after a donation on the given date (null if never donated)
+     */
+    public LocalDate nextDonationDateAfter(LocalDate lastDonationDate) {
+        return lastDonationDate != null ? lastDonationDate.plusDays(eligibilityPeriodDays) : null;
+    }
+
+    /**
+     * Date a donor may register for camps again after a camp donation on the given date (null if none)
+     */
+    public LocalDate nextCampDateAfter(LocalDate lastCampDonationDate) {
+        return lastCampDonationDate != null ? lastCampDonationDate.plusMonths(campCooldownMonths) : null;
+    }
+
+    public int getCampCooldownMonths() {
+        return campCooldownMonths;
+    }
+
+    private String checkAge(DonorSnapshot donor, LocalDate date) {
+        if (donor.getDateOfBirth() == null) {
+            return null;    // not collected for every account; the age rule only applies when it is known
+        }
+        int age = Period.between(donor.getDateOfBirth(), date).getYears();
+        if (minAge > 0 && age < minAge) {
+            return "Donors must be at least " + minAge + " years old";
+        }
+        if (maxAge > 0 && age > maxAge) {
+            return "Donors must be " + maxAge + " years old or younger";
+        }
+        return null;
+    }
+
+    private static String cooldown(LocalDate nextEligibleDate, LocalDate date, String reason) {
+        if (nextEligibleDate == null || !date.isBefore(nextEligibleDate)) {
+            return null;
+        }
+        return reason + ". Next eligible date: " + nextEligibleDate;
+    }
+
+    // A compiled rule; returns the failure reason, or null when the donor passes
+    @FunctionalInterface
+    private interface Rule {
+        String check(DonorSnapshot donor, LocalDate date);
+    }
+
+    public static class EligibilityDecision {
+        private final Long userId;
+        private final boolean eligible;
+        private final List<String> reasons;
+        private final LocalDate nextEligibleDate;
+
+        public EligibilityDecision(Long userId, boolean eligible, List<String> reasons, LocalDate nextEligibleDate) {
+            this.userId = userId;
+            this.eligible = eligible;
+            this.reasons = reasons;
+            this.nextEligibleDate = nextEligibleDate;
+        }
+
+        // Getters
+        public Long getUserId() { return userId; }
+        public boolean isEligible() { return eligible; }
+        public List<String> getReasons() { return reasons; }
+        public LocalDate getNextEligibleDate() { return nextEligibleDate; }
+    }
+}
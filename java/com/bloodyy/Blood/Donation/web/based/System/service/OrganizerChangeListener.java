@@ -0,0 +1,80 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watches committed updates of volunteer accounts and refreshes the camp read models
+ * (search index, camp cache) that carry organizer data. Hooks into Hibernate directly
+ * because the account updates are saved by UserService, outside the camp services.
+ * Only in-memory work happens here: the listener runs after the commit, on the committing thread.
+ */
+@Component
+public class OrganizerChangeListener implements PostCommitUpdateEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BloodDonationCampService campService;
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof User)) return;
+        User user = (User) event.getEntity();
+        if (!"VOLUNTEER".equals(user.getUser_type())) return;
+
+        try {
+            if (changed(event, "firstName", "lastName")) {
+                campService.onOrganizerNameChanged(user);
+            }
+            if (changed(event, "isVolunteerVerified")) {
+                campService.onVolunteerVerificationChanged(user.getId());
+            }
+        } catch (Exception e) {
+            // The account change is already committed; the cache TTL and the next camp save catch up
+            System.err.println("Failed to refresh camps of volunteer " + user.getId() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was published before the commit, so there is nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return User.class.equals(persister.getMappedClass());
+    }
+
+    // Without dirty tracking information every listed property counts as changed
+    private static boolean changed(PostUpdateEvent event, String... propertyNames) {
+        int[] dirtyProperties = event.getDirtyProperties();
+        if (dirtyProperties == null) return true;
+
+        String[] names = event.getPersister().getPropertyNames();
+        for (int index : dirtyProperties) {
+            for (String propertyName : propertyNames) {
+                if (propertyName.equals(names[index])) return true;
+            }
+        }
+        return false;
+    }
+}
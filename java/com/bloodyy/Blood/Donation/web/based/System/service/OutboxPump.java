@@ -0,0 +1,143 @@
+package com.bloodyy.Blood.Donation.web.based.System.service;
+
+import com.bloodyy.Blood.Donation.web.based.System.entity.BloodDonationCamp;
+import com.bloodyy.Blood.Donation.web.based.System.entity.OutboxEvent;
+import com.bloodyy.Blood.Donation.web.based.System.entity.User;
+import com.bloodyy.Blood.Donation.web.based.System.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transactional outbox. Writers call enqueue() inside their own transaction, so the event
+ * commits or rolls back with the change; the scheduled pump then runs each due event on a
+ * virtual thread. Failed events are retried with exponential backoff until they succeed,
+ * so every handler must be idempotent.
+ */
+@Component
+public class OutboxPump {
+
+    private static final int LEASE_MINUTES = 5;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private BloodDonationCampService campService;
+
+    @Autowired
+    private UserService userService;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Record a side effect in the caller's transaction
+     */
+    public void enqueue(String eventType, Long campId, Long donorId, Long volunteerId, LocalDate eventDate) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setCampId(campId);
+        event.setDonorId(donorId);
+        event.setVolunteerId(volunteerId);
+        event.setEventDate(eventDate);
+        event.setNextAttemptAt(now);
+        event.setCreatedAt(now);
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Run every due event; waits for the batch so runs never overlap
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void pump() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, Limit.of(batchSize));
+        if (due.isEmpty()) return;
+
+        List<Callable<Void>> tasks = new ArrayList<>(due.size());
+        for (OutboxEvent event : due) {
+            if (outboxEventRepository.claim(event.getId(), now, now.plusMinutes(LEASE_MINUTES)) == 0) continue;
+            tasks.add(() -> {
+                process(event);
+                return null;
+            });
+        }
+
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void purgeProcessed() {
+        int removed = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            System.out.println("Outbox: removed " + removed + " processed events");
+        }
+    }
+
+    public long countPending() {
+        return outboxEventRepository.countByStatus(OutboxEvent.PENDING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void process(OutboxEvent event) {
+        try {
+            handle(event);
+            outboxEventRepository.markDone(event.getId(), LocalDateTime.now());
+        } catch (Exception e) {
+            // 2, 4, 8 ... seconds, capped; the event stays pending until it succeeds
+            long backoffSeconds = Math.min(maxBackoffSeconds, 1L << Math.min(event.getAttempts() + 1, 20));
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            System.err.println("Outbox event " + event.getId() + " (" + event.getEventType() + ") failed, retrying in "
+                    + backoffSeconds + "s: " + error);
+            outboxEventRepository.markFailed(event.getId(), LocalDateTime.now().plusSeconds(backoffSeconds),
+                    error.length() > 1000 ? error.substring(0, 1000) : error);
+        }
+    }
+
+    private void handle(OutboxEvent event) throws Exception {
+        switch (event.getEventType()) {
+            case OutboxEvent.BLOOD_DONATION_RECORDED:
+                BloodDonationCamp camp = campService.getCampById(event.getCampId());
+                User donor = userService.getUserById(event.getDonorId());
+                User volunteer = userService.getUserById(event.getVolunteerId());
+                if (camp == null || donor == null || volunteer == null) {
+                    throw new Exception("Camp, donor or volunteer not found");
+                }
+                donationService.createCampDonationIfAbsent(donor, camp, volunteer, event.getEventDate());
+                break;
+            default:
+                throw new Exception("Unknown outbox event type " + event.getEventType());
+        }
+    }
+}